@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.benchmark.BenchmarkData.Size;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Common configuration of the conversion benchmarks. The reference type is used as the source
+ * name, see {@link org.brunocvcunha.digesteroids.benchmark.model.BenchmarkEntity}.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractDigesterBenchmark {
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public Size size;
+
+  protected Digesteroids digesteroids = new Digesteroids();
+
+}
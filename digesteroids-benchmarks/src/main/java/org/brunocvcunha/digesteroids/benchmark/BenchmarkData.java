@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsDefaultCaster;
+
+/**
+ * Builds the inputs used by the benchmarks. The size is the number of filler entries that surround
+ * the mapped values, so parsing and lookup costs grow with it.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class BenchmarkData {
+
+  /**
+   * Source for PASS_THROUGH over HTML inputs, the nested entity uses CSS selectors
+   */
+  public static final String SOURCE_PASS_THROUGH_HTML = "PASS_THROUGH_HTML";
+
+  /**
+   * Sizes of the inputs
+   */
+  public enum Size {
+    SMALL(10), MEDIUM(100), LARGE(1000);
+
+    private final int fillers;
+
+    Size(int fillers) {
+      this.fillers = fillers;
+    }
+
+    /**
+     * @return the number of filler entries
+     */
+    public int getFillers() {
+      return fillers;
+    }
+  }
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * @param size Input size
+   * @return Map input
+   */
+  public static Map<String, Object> map(Size size) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < size.getFillers(); i++) {
+      map.put("filler" + i, "Filler value " + i);
+    }
+
+    map.put("title", "Digesteroids");
+    map.put("price", 9.99);
+    map.put("detailName", "Digester on Steroids");
+
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("count", 42);
+    map.put("stats", stats);
+
+    Map<String, Object> detail = new LinkedHashMap<>();
+    detail.put("name", "Digester on Steroids");
+    map.put("detail", detail);
+
+    return map;
+  }
+
+  /**
+   * @param size Input size
+   * @return JSON input
+   */
+  public static String json(Size size) {
+    return DigesteroidsDefaultCaster.getInstance().json(map(size));
+  }
+
+  /**
+   * @param size Input size
+   * @return Properties input
+   */
+  public static Properties properties(Size size) {
+    Properties properties = new Properties();
+    for (int i = 0; i < size.getFillers(); i++) {
+      properties.setProperty("filler" + i, "Filler value " + i);
+    }
+
+    properties.setProperty("title", "Digesteroids");
+    properties.setProperty("stats.count", "42");
+    properties.setProperty("price", "9.99");
+    properties.setProperty("detailName", "Digester on Steroids");
+    return properties;
+  }
+
+  /**
+   * @param size Input size
+   * @return HTML input, with the mapped elements after the fillers
+   */
+  public static String html(Size size) {
+    StringBuilder html = new StringBuilder("<html><head><title>Benchmark</title></head><body>\n");
+    for (int i = 0; i < size.getFillers(); i++) {
+      html.append("<div class=\"filler\"><p id=\"filler").append(i).append("\">Filler value ")
+          .append(i).append("</p></div>\n");
+    }
+
+    html.append("<h1 id=\"title\" class=\"title\">Digesteroids</h1>\n")
+        .append("<p><span id=\"count\" class=\"count\">42</span>")
+        .append("<span id=\"price\" class=\"price\">9.99</span></p>\n")
+        .append("<p class=\"detail\">Digester on Steroids</p>\n")
+        .append("</body></html>");
+    return html.toString();
+  }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.benchmark;
+
+import java.util.Properties;
+
+import org.brunocvcunha.digesteroids.benchmark.model.BenchmarkEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks the conversion of Properties inputs
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class PropertiesBenchmark extends AbstractDigesterBenchmark {
+
+  @Param({"NORMAL", "PASS_THROUGH", "HARDCODE"})
+  public String refType;
+
+  private Properties input;
+
+  private String source;
+
+  /**
+   * Builds the input
+   */
+  @Setup
+  public void setup() {
+    input = BenchmarkData.properties(size);
+    source = refType;
+  }
+
+  /**
+   * @return converted entity
+   * @throws Exception conversion failure
+   */
+  @Benchmark
+  public BenchmarkEntity convert() throws Exception {
+    return digesteroids.convertObjectToType(source, input, BenchmarkEntity.class);
+  }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.benchmark.model;
+
+import static org.brunocvcunha.digesteroids.benchmark.BenchmarkData.SOURCE_PASS_THROUGH_HTML;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Nested entity converted by the benchmarks
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity
+public class BenchmarkDetail {
+
+  @DigesterMapping(source = "NORMAL", value = "name")
+  @DigesterMapping(source = "PASS_THROUGH", value = "detailName")
+  @DigesterMapping(source = SOURCE_PASS_THROUGH_HTML, refType = ReferenceTypeEnum.HTML_CSS, value = "p.detail")
+  private String name;
+
+  /**
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+  /**
+   * @param name the name to set
+   */
+  public void setName(String name) {
+    this.name = name;
+  }
+
+}
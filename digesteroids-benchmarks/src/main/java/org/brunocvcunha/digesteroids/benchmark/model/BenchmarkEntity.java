@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.benchmark.model;
+
+import static org.brunocvcunha.digesteroids.benchmark.BenchmarkData.SOURCE_PASS_THROUGH_HTML;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Entity converted by the benchmarks. Each source is named after the reference type it
+ * exercises.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity
+public class BenchmarkEntity {
+
+  @DigesterMapping(source = "NORMAL", value = "title")
+  @DigesterMapping(source = "JSON_PATH", refType = ReferenceTypeEnum.JSON_PATH, value = "$.title")
+  @DigesterMapping(source = "HTML_ID", refType = ReferenceTypeEnum.HTML_ID, value = "title")
+  @DigesterMapping(source = "HTML_CSS", refType = ReferenceTypeEnum.HTML_CSS, value = "h1.title")
+  @DigesterMapping(source = "HTML_XPATH", refType = ReferenceTypeEnum.HTML_XPATH, value = "//h1[@class='title']")
+  @DigesterMapping(source = "PASS_THROUGH", value = "title")
+  @DigesterMapping(source = SOURCE_PASS_THROUGH_HTML, refType = ReferenceTypeEnum.HTML_ID, value = "title")
+  @DigesterMapping(source = "HARDCODE", refType = ReferenceTypeEnum.HARDCODE, value = "Digesteroids")
+  private String title;
+
+  @DigesterMapping(source = "NORMAL", value = "stats.count")
+  @DigesterMapping(source = "JSON_PATH", refType = ReferenceTypeEnum.JSON_PATH, value = "$.stats.count")
+  @DigesterMapping(source = "HTML_ID", refType = ReferenceTypeEnum.HTML_ID, value = "count")
+  @DigesterMapping(source = "HTML_CSS", refType = ReferenceTypeEnum.HTML_CSS, value = "span.count")
+  @DigesterMapping(source = "HTML_XPATH", refType = ReferenceTypeEnum.HTML_XPATH, value = "//span[@class='count']")
+  @DigesterMapping(source = "HARDCODE", refType = ReferenceTypeEnum.HARDCODE, value = "42")
+  private Integer count;
+
+  @DigesterMapping(source = "NORMAL", value = "price")
+  @DigesterMapping(source = "JSON_PATH", refType = ReferenceTypeEnum.JSON_PATH, value = "$.price")
+  @DigesterMapping(source = "HTML_ID", refType = ReferenceTypeEnum.HTML_ID, value = "price")
+  @DigesterMapping(source = "HTML_CSS", refType = ReferenceTypeEnum.HTML_CSS, value = "span.price")
+  @DigesterMapping(source = "HTML_XPATH", refType = ReferenceTypeEnum.HTML_XPATH, value = "//span[@class='price']")
+  @DigesterMapping(source = "HARDCODE", refType = ReferenceTypeEnum.HARDCODE, value = "9.99")
+  private Double price;
+
+  @DigesterMapping(source = "NORMAL", value = "detail")
+  @DigesterMapping(source = "PASS_THROUGH", refType = ReferenceTypeEnum.PASS_THROUGH, value = "")
+  @DigesterMapping(source = SOURCE_PASS_THROUGH_HTML, refType = ReferenceTypeEnum.PASS_THROUGH, value = "")
+  private BenchmarkDetail detail;
+
+  /**
+   * @return the title
+   */
+  public String getTitle() {
+    return title;
+  }
+  /**
+   * @param title the title to set
+   */
+  public void setTitle(String title) {
+    this.title = title;
+  }
+  /**
+   * @return the count
+   */
+  public Integer getCount() {
+    return count;
+  }
+  /**
+   * @param count the count to set
+   */
+  public void setCount(Integer count) {
+    this.count = count;
+  }
+  /**
+   * @return the price
+   */
+  public Double getPrice() {
+    return price;
+  }
+  /**
+   * @param price the price to set
+   */
+  public void setPrice(Double price) {
+    this.price = price;
+  }
+  /**
+   * @return the detail
+   */
+  public BenchmarkDetail getDetail() {
+    return detail;
+  }
+  /**
+   * @param detail the detail to set
+   */
+  public void setDetail(BenchmarkDetail detail) {
+    this.detail = detail;
+  }
+
+}
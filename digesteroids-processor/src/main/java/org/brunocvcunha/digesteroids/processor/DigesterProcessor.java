@@ -0,0 +1,635 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that generates a {@code <Entity>Digester} for each
+ * {@code @DigesterEntity}, with straight-line extraction and setter calls for every source, so
+ * the entity can be converted without runtime reflection.
+ *
+ * <p>Entities that can not be handled without reflection (type parameters, no accessible no-args
+ * constructor, private setters or fields) are skipped with a note, and keep using the reflective mapping plan.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class DigesterProcessor extends AbstractProcessor {
+
+  private static final String BASE_PACKAGE = "org.brunocvcunha.digesteroids";
+  private static final String ENTITY = BASE_PACKAGE + ".annotation.DigesterEntity";
+  private static final String MAPPING = BASE_PACKAGE + ".annotation.DigesterMapping";
+  private static final String MAPPINGS = BASE_PACKAGE + ".annotation.DigesterMappings";
+  private static final String RULE = BASE_PACKAGE + ".rule.DigesterRule";
+  private static final String SUFFIX = "Digester";
+
+  /**
+   * Location of the native-image configuration, so the generated digesters can be looked up by
+   * name in GraalVM native images
+   */
+  static final String NATIVE_IMAGE_CONFIG =
+      "META-INF/native-image/digesteroids-generated/reflect-config.json";
+
+  private final List<String> generated = new ArrayList<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(ENTITY);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement entityAnnotation = processingEnv.getElementUtils().getTypeElement(ENTITY);
+
+    if (entityAnnotation != null) {
+      for (TypeElement entity : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(entityAnnotation))) {
+        try {
+          EntityModel model = buildModel(entity);
+          if (model != null) {
+            write(model);
+            generated.add(model.digesterBinaryName);
+          }
+        } catch (IOException e) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+              "Could not generate digester: " + e.getMessage(), entity);
+        }
+      }
+    }
+
+    if (roundEnv.processingOver() && !generated.isEmpty()) {
+      writeNativeImageConfig();
+    }
+
+    return false;
+  }
+
+  /**
+   * @param entity The annotated entity
+   * @return The model to generate, or null if the entity needs reflection
+   */
+  protected EntityModel buildModel(TypeElement entity) {
+    if (entity.getKind() != ElementKind.CLASS || entity.getModifiers().contains(Modifier.ABSTRACT)
+        || (entity.getNestingKind().isNested() && !entity.getModifiers().contains(Modifier.STATIC))) {
+      return skip(entity, "it is not a concrete top-level or static nested class");
+    }
+
+    if (!entity.getTypeParameters().isEmpty()) {
+      // the values can not be cast to the type variables in a static digester
+      return skip(entity, "it has type parameters");
+    }
+
+    if (!hasAccessibleConstructor(entity)) {
+      return skip(entity, "it has no accessible no-args constructor");
+    }
+
+    boolean fieldAccess = Boolean.TRUE.equals(value(findAnnotation(entity, ENTITY), "fieldAccess"));
+
+    EntityModel model = new EntityModel();
+    model.entity = entity;
+    model.packageName = packageOf(entity).getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+    model.digesterBinaryName = binaryName.replace('$', '_') + SUFFIX;
+    model.digesterSimpleName = model.packageName.isEmpty() ? model.digesterBinaryName
+        : model.digesterBinaryName.substring(model.packageName.length() + 1);
+
+    for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+      if (field.getModifiers().contains(Modifier.STATIC)) {
+        continue;
+      }
+
+      List<AnnotationMirror> mappings = findMappings(field);
+      if (mappings.isEmpty()) {
+        continue;
+      }
+
+      String writer;
+      TypeMirror type;
+      if (fieldAccess) {
+        if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+          return skip(entity, "field " + field.getSimpleName() + " can not be written directly");
+        }
+        writer = "target." + field.getSimpleName() + " = ";
+        type = field.asType();
+      } else {
+        ExecutableElement setter = findSetter(entity, field);
+        if (setter == null) {
+          // same as the reflective plan, fields that are not bean properties are ignored
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+              "Field " + field.getSimpleName() + " has no public getter and setter, ignoring it", field);
+          continue;
+        }
+        writer = "target." + setter.getSimpleName() + "(";
+        type = setter.getParameters().get(0).asType();
+      }
+
+      for (AnnotationMirror mapping : mappings) {
+        for (TypeElement ruleType : ruleTypes(mapping)) {
+          if (ruleType.getModifiers().contains(Modifier.ABSTRACT) || !hasNoArgsConstructor(ruleType)) {
+            // the plan ignores only this field, a generated digester would fail as a whole
+            return skip(entity, "rule " + ruleType.getQualifiedName() + " can not be instantiated");
+          }
+        }
+
+        String source = (String) value(mapping, "source");
+        String sourceKey = source.toLowerCase(Locale.ROOT);
+
+        SourceModel sourceModel = model.sources.get(sourceKey);
+        if (sourceModel == null) {
+          sourceModel = new SourceModel(source, model.sources.size());
+          model.sources.put(sourceKey, sourceModel);
+        }
+
+        // the first mapping for the source wins, like in the reflective plan
+        if (!sourceModel.hasField(field)) {
+          sourceModel.fields.add(new FieldModel(field, type, mapping, writer, !fieldAccess));
+        }
+      }
+    }
+
+    return model;
+  }
+
+  /**
+   * @param model Entity model
+   * @throws IOException Error writing the source
+   */
+  protected void write(EntityModel model) throws IOException {
+    String entityName = model.entity.getQualifiedName().toString();
+
+    StringBuilder out = new StringBuilder();
+    if (!model.packageName.isEmpty()) {
+      out.append("package ").append(model.packageName).append(";\n\n");
+    }
+
+    out.append("/**\n * Digester for {@link ").append(entityName)
+        .append("}, generated by digesteroids-processor. Do not edit.\n */\n");
+    out.append("public final class ").append(model.digesterSimpleName).append(" implements ")
+        .append(BASE_PACKAGE).append(".TypeDigester<").append(entityName).append("> {\n\n");
+
+    for (SourceModel source : model.sources.values()) {
+      for (FieldModel field : source.fields) {
+        out.append("  private static final ").append(BASE_PACKAGE).append(".FieldMapping ")
+            .append(field.constantName(source)).append(" = ").append(fieldMapping(field))
+            .append(";\n");
+      }
+    }
+
+    // the CSS selectors of each source, matched in a single walk of the HTML like in the plans
+    for (SourceModel source : model.sources.values()) {
+      if (!hasSelectors(source)) {
+        continue;
+      }
+      out.append("  private static final ").append(BASE_PACKAGE).append(".html.SelectorGroup SELECTORS_")
+          .append(source.index).append(" = ").append(BASE_PACKAGE)
+          .append(".html.SelectorGroup.compile(java.util.Arrays.<").append(BASE_PACKAGE)
+          .append(".FieldMapping> asList(");
+      String separator = "";
+      for (FieldModel field : source.fields) {
+        out.append(separator).append(field.constantName(source));
+        separator = ", ";
+      }
+      out.append("));\n");
+    }
+
+    out.append("\n  private static int sourceIndex(String source) {\n");
+    for (SourceModel source : model.sources.values()) {
+      out.append("    if (").append(literal(source.name)).append(".equalsIgnoreCase(source)) {\n")
+          .append("      return ").append(source.index).append(";\n    }\n");
+    }
+    out.append("    return -1;\n  }\n\n");
+
+    out.append("  @Override\n  public boolean supports(String source) {\n")
+        .append("    return sourceIndex(source) >= 0;\n  }\n\n");
+
+    out.append("  @Override\n  public ").append(entityName).append(" digest(")
+        .append(BASE_PACKAGE).append(".Digesteroids digesteroids, String source, ")
+        .append(BASE_PACKAGE).append(".DigestContext context)\n")
+        .append("      throws InstantiationException, IllegalAccessException {\n")
+        .append("    switch (sourceIndex(source)) {\n");
+    for (SourceModel source : model.sources.values()) {
+      out.append("      case ").append(source.index).append(":\n        return digest")
+          .append(source.index).append("(digesteroids, context);\n");
+    }
+    out.append("      default:\n        throw new IllegalArgumentException(\"Source not supported: \" + source);\n")
+        .append("    }\n  }\n");
+
+    for (SourceModel source : model.sources.values()) {
+      boolean unchecked = false;
+      for (FieldModel field : source.fields) {
+        unchecked |= isGeneric(field.type);
+      }
+
+      out.append("\n").append(unchecked ? "  @SuppressWarnings(\"unchecked\")\n" : "")
+          .append("  private static ").append(entityName)
+          .append(" digest").append(source.index).append("(").append(BASE_PACKAGE)
+          .append(".Digesteroids digesteroids, ").append(BASE_PACKAGE)
+          .append(".DigestContext context)\n")
+          .append("      throws InstantiationException, IllegalAccessException {\n")
+          .append(hasSelectors(source) ? "    if (SELECTORS_" + source.index
+              + " != null && digesteroids.isSingleTraversal()) {\n      context.selectAll(SELECTORS_"
+              + source.index + ");\n    }\n\n" : "")
+          .append("    ").append(entityName).append(" target = new ").append(entityName).append("();\n")
+          .append("    Object value;\n");
+
+      for (FieldModel field : source.fields) {
+        out.append("\n    value = digesteroids.resolveFieldValue(context, ")
+            .append(field.constantName(source)).append(");\n")
+            .append("    if (value != null) {\n")
+            .append("      try {\n")
+            .append("        ").append(field.writer).append("(").append(castType(field.type))
+            .append(") value").append(field.setter ? ")" : "").append(";\n")
+            .append("      } catch (Exception e) {\n")
+            .append("        digesteroids.writeFailed(").append(entityName).append(".class, ")
+            .append(literal(field.element.getSimpleName().toString())).append(", e);\n")
+            .append("      }\n")
+            .append("    }\n");
+      }
+
+      out.append("\n    return target;\n  }\n");
+    }
+
+    out.append("\n}\n");
+
+    JavaFileObject file = processingEnv.getFiler().createSourceFile(model.digesterBinaryName, model.entity);
+    try (Writer writer = file.openWriter()) {
+      writer.write(out.toString());
+    }
+  }
+
+  /**
+   * @param field Field model
+   * @return Expression that creates the FieldMapping
+   */
+  private String fieldMapping(FieldModel field) {
+    AnnotationMirror mapping = field.mapping;
+
+    List<String> rules = new ArrayList<>();
+    for (TypeElement ruleType : ruleTypes(mapping)) {
+      rules.add(ruleType.getQualifiedName().toString());
+    }
+
+    String ruleExpression = "null";
+    if (!rules.isEmpty()) {
+      StringBuilder expression = new StringBuilder("new ").append(BASE_PACKAGE)
+          .append(".rule.TypedDigesterRule<?, ?>[] {");
+      String separator = "";
+      for (String ruleClass : rules) {
+        expression.append(separator).append(BASE_PACKAGE).append(".rule.Rules.instance(")
+            .append(ruleClass).append(".class)");
+        separator = ", ";
+      }
+      ruleExpression = expression.append("}").toString();
+    }
+
+    VariableElement refType = (VariableElement) value(mapping, "refType");
+
+    return "new " + BASE_PACKAGE + ".FieldMapping(" + literal((String) value(mapping, "source"))
+        + ", " + BASE_PACKAGE + ".ReferenceTypeEnum." + refType.getSimpleName()
+        + ", " + literal((String) value(mapping, "value"))
+        + ", " + ruleExpression
+        + ", " + value(mapping, "htmlText")
+        + ", " + value(mapping, "textNode")
+        + ", " + value(mapping, "trim")
+        + ", " + literal((String) value(mapping, "attribute"))
+        + ", " + value(mapping, "mandatory")
+        + ", " + literal((String) value(mapping, "format"))
+        + ", " + normalizeExpression(value(mapping, "normalize"))
+        + ", " + typeExpression(field.type) + ")";
+  }
+
+  /**
+   * @param mapping The mapping annotation
+   * @return the classes of the rule and the chained rules, in order
+   */
+  private List<TypeElement> ruleTypes(AnnotationMirror mapping) {
+    List<TypeElement> ruleTypes = new ArrayList<>();
+    Object rule = value(mapping, "rule");
+    if (rule instanceof DeclaredType) {
+      TypeElement ruleType = (TypeElement) ((DeclaredType) rule).asElement();
+      if (ruleType.getKind() == ElementKind.CLASS && !ruleType.getQualifiedName().contentEquals(RULE)) {
+        ruleTypes.add(ruleType);
+      }
+    }
+    Object chained = value(mapping, "rules");
+    if (chained instanceof List) {
+      for (Object chainedRule : (List<?>) chained) {
+        ruleTypes.add((TypeElement) ((DeclaredType) ((AnnotationValue) chainedRule).getValue()).asElement());
+      }
+    }
+    return ruleTypes;
+  }
+
+  /**
+   * @param modes Value of the normalize attribute, a list of enum constants
+   * @return Expression that creates the array of normalization modes
+   */
+  private String normalizeExpression(Object modes) {
+    StringBuilder expression = new StringBuilder("new ").append(BASE_PACKAGE)
+        .append(".NormalizeModeEnum[] {");
+    if (modes instanceof List) {
+      String separator = "";
+      for (Object mode : (List<?>) modes) {
+        VariableElement constant = (VariableElement) ((AnnotationValue) mode).getValue();
+        expression.append(separator).append(BASE_PACKAGE).append(".NormalizeModeEnum.")
+            .append(constant.getSimpleName());
+        separator = ", ";
+      }
+    }
+    return expression.append("}").toString();
+  }
+
+  /**
+   * @param type Field type
+   * @return Expression for the java.lang.reflect.Type of the field
+   */
+  private String typeExpression(TypeMirror type) {
+    if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+      return "new com.google.gson.reflect.TypeToken<" + type + ">() { }.getType()";
+    }
+    return processingEnv.getTypeUtils().erasure(type) + ".class";
+  }
+
+  /**
+   * @param type Field type
+   * @return Type to cast the resolved value to
+   */
+  private String castType(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+    }
+    return type.toString();
+  }
+
+  /**
+   * @param type Type of a field
+   * @return if casting the resolved value to the type is unchecked
+   */
+  private static boolean isGeneric(TypeMirror type) {
+    return type.getKind() == TypeKind.TYPEVAR || (type.getKind() == TypeKind.DECLARED
+        && !((DeclaredType) type).getTypeArguments().isEmpty());
+  }
+
+  private String literal(String value) {
+    return processingEnv.getElementUtils().getConstantExpression(value);
+  }
+
+  private EntityModel skip(TypeElement entity, String reason) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+        "Not generating digester for " + entity.getQualifiedName() + ", " + reason
+        + ". It will be converted using reflection.", entity);
+    return null;
+  }
+
+  private boolean hasAccessibleConstructor(TypeElement entity) {
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasNoArgsConstructor(TypeElement type) {
+    // the rules are created with setAccessible, so any constructor without arguments works
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Find the setter of the field with the rules of the {@link java.beans.PropertyDescriptor} used
+   * by the reflective plan: a public "is" or "get" getter, and a public setter that takes the type
+   * returned by the getter
+   * @param entity The entity
+   * @param field The field
+   * @return the setter, or null if the field is not a property
+   */
+  private ExecutableElement findSetter(TypeElement entity, VariableElement field) {
+    String name = field.getSimpleName().toString();
+    String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+    List<ExecutableElement> methods = ElementFilter.methodsIn(
+        processingEnv.getElementUtils().getAllMembers(entity));
+
+    ExecutableElement getter = findPublicMethod(methods, "is" + capitalized, 0);
+    if (getter == null) {
+      getter = findPublicMethod(methods, "get" + capitalized, 0);
+    }
+    if (getter == null || getter.getReturnType().getKind() == TypeKind.VOID) {
+      return null;
+    }
+
+    TypeMirror propertyType = processingEnv.getTypeUtils().erasure(getter.getReturnType());
+    for (ExecutableElement method : methods) {
+      if (isPublicMethod(method, "set" + capitalized, 1) && processingEnv.getTypeUtils().isSameType(
+          processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType()), propertyType)) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private ExecutableElement findPublicMethod(List<ExecutableElement> methods, String name, int parameters) {
+    for (ExecutableElement method : methods) {
+      if (isPublicMethod(method, name, parameters)) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private boolean isPublicMethod(ExecutableElement method, String name, int parameters) {
+    return method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameters
+        && method.getModifiers().contains(Modifier.PUBLIC)
+        && !method.getModifiers().contains(Modifier.STATIC);
+  }
+
+  private List<AnnotationMirror> findMappings(Element field) {
+    List<AnnotationMirror> mappings = new ArrayList<>();
+
+    for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+      String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (MAPPING.equals(name)) {
+        mappings.add(mirror);
+      } else if (MAPPINGS.equals(name)) {
+        @SuppressWarnings("unchecked")
+        List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value(mirror, "value");
+        for (AnnotationValue value : values) {
+          mappings.add((AnnotationMirror) value.getValue());
+        }
+      }
+    }
+
+    return mappings;
+  }
+
+  private AnnotationMirror findAnnotation(Element element, String annotation) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param source Source model
+   * @return if the source has at least two CSS or XPath mappings, that are worth selecting in a
+   *         single walk of the HTML
+   */
+  private boolean hasSelectors(SourceModel source) {
+    int selectors = 0;
+    for (FieldModel field : source.fields) {
+      Name refType = ((VariableElement) value(field.mapping, "refType")).getSimpleName();
+      if (refType.contentEquals("HTML_CSS") || refType.contentEquals("HTML_XPATH")) {
+        selectors++;
+      }
+    }
+    return selectors >= 2;
+  }
+
+  private Object value(AnnotationMirror mirror, String attribute) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv
+        .getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+        return entry.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+  private PackageElement packageOf(Element element) {
+    while (!(element instanceof PackageElement)) {
+      element = element.getEnclosingElement();
+    }
+    return (PackageElement) element;
+  }
+
+  private void writeNativeImageConfig() {
+    StringBuilder json = new StringBuilder("[\n");
+    for (int i = 0; i < generated.size(); i++) {
+      json.append("  { \"name\": \"").append(generated.get(i))
+          .append("\", \"allDeclaredConstructors\": true }")
+          .append(i < generated.size() - 1 ? ",\n" : "\n");
+    }
+    json.append("]\n");
+
+    try (Writer writer = processingEnv.getFiler()
+        .createResource(StandardLocation.CLASS_OUTPUT, "", NATIVE_IMAGE_CONFIG).openWriter()) {
+      writer.write(json.toString());
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Could not write native-image configuration: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Entity being generated
+   */
+  static class EntityModel {
+    TypeElement entity;
+    String packageName;
+    String digesterBinaryName;
+    String digesterSimpleName;
+    Map<String, SourceModel> sources = new LinkedHashMap<>();
+  }
+
+  /**
+   * Mappings of one source
+   */
+  static class SourceModel {
+    final String name;
+    final int index;
+    final List<FieldModel> fields = new ArrayList<>();
+
+    SourceModel(String name, int index) {
+      this.name = name;
+      this.index = index;
+    }
+
+    boolean hasField(VariableElement field) {
+      for (FieldModel model : fields) {
+        if (model.element.equals(field)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Mapping of one field
+   */
+  static class FieldModel {
+    final VariableElement element;
+    final TypeMirror type;
+    final AnnotationMirror mapping;
+    final String writer;
+    final boolean setter;
+
+    FieldModel(VariableElement element, TypeMirror type, AnnotationMirror mapping, String writer,
+        boolean setter) {
+      this.element = element;
+      this.type = type;
+      this.mapping = mapping;
+      this.writer = writer;
+      this.setter = setter;
+    }
+
+    String constantName(SourceModel source) {
+      return "MAPPING_" + source.index + "_" + element.getSimpleName();
+    }
+  }
+
+}
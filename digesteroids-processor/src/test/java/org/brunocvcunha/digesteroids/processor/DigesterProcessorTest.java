@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.FieldMapping;
+import org.brunocvcunha.digesteroids.TypeDigester;
+import org.brunocvcunha.digesteroids.processor.model.AuthorPOJO;
+import org.brunocvcunha.digesteroids.processor.model.BookPOJO;
+import org.brunocvcunha.digesteroids.processor.model.BoxPOJO;
+import org.junit.Test;
+
+/**
+ * Tests the digesters generated for the test entities
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class DigesterProcessorTest {
+
+  public static final String SOURCE_JSON = "SourceTestJson";
+  public static final String SOURCE_HTML = "SourceTestHtml";
+
+  @Test
+  public void generatedDigesterIsUsed() {
+
+    Digesteroids digister = new Digesteroids();
+
+    TypeDigester<BookPOJO> digester = digister.getDigester(BookPOJO.class);
+    assertNotNull(digester);
+    assertEquals(BookPOJO.class.getName() + "Digester", digester.getClass().getName());
+    assertNotNull(digister.getDigester(AuthorPOJO.class));
+
+  }
+
+  @Test
+  public void generatedMapDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> bookMap = new LinkedHashMap<>();
+    bookMap.put("bookTitle", " Dom \n\t Casmurro ");
+    bookMap.put("pages", "256");
+    bookMap.put("published", "01/01/1899");
+
+    BookPOJO book = digister.convertObjectToType(bookMap, BookPOJO.class);
+
+    assertEquals("DOM CASMURRO", book.getTitle());
+    assertEquals(256, book.getPages());
+    assertEquals(LocalDate.of(1899, 1, 1), book.getPublished());
+    assertNull(book.getAuthor());
+
+  }
+
+  @Test
+  public void generatedJsonPathDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    BookPOJO book = digister.convertObjectToType(SOURCE_JSON,
+        "{\"book\": {\"title\": \"Dom Casmurro\", \"pages\": 256}, \"author\": \"Machado de Assis\"}", BookPOJO.class);
+
+    assertEquals("DOM CASMURRO", book.getTitle());
+    assertEquals(256, book.getPages());
+    assertEquals("Machado de Assis", book.getAuthor().getName());
+
+  }
+
+  @Test
+  public void generatedHtmlDigester() throws InstantiationException, IllegalAccessException {
+
+    String html = "<html><body><h1 class=\"title\">Dom Casmurro</h1><p><span class=\"pages\">256</span></p></body></html>";
+
+    for (boolean singleTraversal : new boolean[] {true, false}) {
+      Digesteroids digister = Digesteroids.builder().singleTraversal(singleTraversal).build();
+
+      BookPOJO book = digister.convertObjectToType(SOURCE_HTML, html, BookPOJO.class);
+      assertEquals("Dom Casmurro", book.getTitle());
+      assertEquals(256, book.getPages());
+    }
+
+  }
+
+  @Test
+  public void genericEntityUsesReflection() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    assertNull(digister.getDigester(BoxPOJO.class));
+
+    BoxPOJO<?> box = digister.convertObjectToType(SOURCE_JSON, "{\"label\": \"Dom Casmurro\", \"labels\": [\"a\", \"b\"]}", BoxPOJO.class);
+    assertEquals("Dom Casmurro", box.getValue());
+    assertEquals(Arrays.asList("a", "b"), box.getValues());
+
+  }
+
+  @Test
+  public void generatedDigesterMatchesPlan() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> bookMap = new LinkedHashMap<>();
+    bookMap.put("bookTitle", "Dom Casmurro");
+    bookMap.put("isbn", "978-8572326972");
+    bookMap.put("edition", "0");
+
+    // the plan is forced by the projection, the generated digester is used otherwise
+    BookPOJO generated = digister.convertObjectToType(bookMap, BookPOJO.class);
+    BookPOJO planned = digister.convertObjectToType("", bookMap, BookPOJO.class,
+        new HashSet<>(Arrays.asList("title", "edition")));
+
+    for (BookPOJO book : new BookPOJO[] {generated, planned}) {
+      assertEquals("DOM CASMURRO", book.getTitle());
+      assertNull(book.isbnValue());
+      assertEquals(1, book.getEdition());
+    }
+
+    for (FieldMapping mapping : digister.getPlan(BookPOJO.class, "").getFields()) {
+      assertFalse("isbn".equals(mapping.getField().getName()));
+    }
+
+  }
+
+}
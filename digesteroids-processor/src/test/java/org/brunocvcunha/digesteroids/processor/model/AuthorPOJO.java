@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.processor.model;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.processor.DigesterProcessorTest;
+
+/**
+ * Test Author POJO, written directly in the fields
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity(fieldAccess = true)
+public class AuthorPOJO {
+
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.JSON_PATH, value = "$.author")
+  String name;
+
+  /**
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+}
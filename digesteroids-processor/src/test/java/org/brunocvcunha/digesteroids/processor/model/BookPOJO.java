@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.processor.model;
+
+import java.time.LocalDate;
+
+import org.brunocvcunha.digesteroids.NormalizeModeEnum;
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.processor.DigesterProcessorTest;
+
+/**
+ * Test Book POJO
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity
+public class BookPOJO {
+
+  @DigesterMapping(value = "bookTitle", rule = UpperCaseRule.class, normalize = NormalizeModeEnum.COLLAPSE_WHITESPACE)
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.JSON_PATH, value = "$.book.title", rules = UpperCaseRule.class)
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_HTML, refType = ReferenceTypeEnum.HTML_CSS, value = "h1.title")
+  private String title;
+
+  @DigesterMapping(value = "pages")
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.JSON_PATH, value = "$.book.pages")
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_HTML, refType = ReferenceTypeEnum.HTML_CSS, value = "span.pages")
+  private int pages;
+
+  @DigesterMapping(value = "published", format = "dd/MM/yyyy")
+  private LocalDate published;
+
+  @DigesterMapping(value = "", refType = ReferenceTypeEnum.HARDCODE)
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.PASS_THROUGH, value = "")
+  private AuthorPOJO author;
+
+  @DigesterMapping(value = "isbn")
+  private String isbn;
+
+  @DigesterMapping(value = "edition")
+  private int edition = 1;
+
+  /**
+   * @return the title
+   */
+  public String getTitle() {
+    return title;
+  }
+  /**
+   * @param title the title to set
+   */
+  public void setTitle(String title) {
+    this.title = title;
+  }
+  /**
+   * @return the pages
+   */
+  public int getPages() {
+    return pages;
+  }
+  /**
+   * @param pages the pages to set
+   */
+  public void setPages(int pages) {
+    this.pages = pages;
+  }
+  /**
+   * @return the published date
+   */
+  public LocalDate getPublished() {
+    return published;
+  }
+  /**
+   * @param published the published date to set
+   */
+  public void setPublished(LocalDate published) {
+    this.published = published;
+  }
+  /**
+   * @return the author
+   */
+  public AuthorPOJO getAuthor() {
+    return author;
+  }
+  /**
+   * @param author the author to set
+   */
+  public void setAuthor(AuthorPOJO author) {
+    this.author = author;
+  }
+  /**
+   * Setter without getter, so isbn is not a property and is not mapped
+   * @param isbn the isbn to set
+   */
+  public void setIsbn(String isbn) {
+    this.isbn = isbn;
+  }
+  /**
+   * @return the isbn
+   */
+  public String isbnValue() {
+    return isbn;
+  }
+  /**
+   * @return the edition
+   */
+  public int getEdition() {
+    return edition;
+  }
+  /**
+   * @param edition the edition to set
+   */
+  public void setEdition(int edition) {
+    if (edition < 1) {
+      throw new IllegalArgumentException("Invalid edition: " + edition);
+    }
+    this.edition = edition;
+  }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.processor.model;
+
+import java.util.List;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.processor.DigesterProcessorTest;
+
+/**
+ * Test generic POJO, that has no generated digester
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ * @param <T> Type of the value
+ */
+@DigesterEntity
+public class BoxPOJO<T> {
+
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.JSON_PATH, value = "$.label")
+  private T value;
+
+  @DigesterMapping(source = DigesterProcessorTest.SOURCE_JSON, refType = ReferenceTypeEnum.JSON_PATH, value = "$.labels")
+  private List<T> values;
+
+  /**
+   * @return the value
+   */
+  public T getValue() {
+    return value;
+  }
+
+  /**
+   * @param value the value to set
+   */
+  public void setValue(T value) {
+    this.value = value;
+  }
+
+  /**
+   * @return the values
+   */
+  public List<T> getValues() {
+    return values;
+  }
+
+  /**
+   * @param values the values to set
+   */
+  public void setValues(List<T> values) {
+    this.values = values;
+  }
+
+}
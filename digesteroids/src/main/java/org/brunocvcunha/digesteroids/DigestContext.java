@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.brunocvcunha.digesteroids.access.PropertyReaders;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+import org.brunocvcunha.digesteroids.html.SelectorGroup;
+import org.brunocvcunha.digesteroids.html.W3CDomConverter;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Collector;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.w3c.dom.Document;
+
+/**
+ * Holds the data being converted, parsing it lazily to each representation (map, HTML element,
+ * W3C DOM, JSON document) only once per conversion, no matter how many fields read from it.
+ *
+ * <p>A context belongs to a single conversion and is not thread-safe. The lazy entities, that
+ * keep the context after the conversion, synchronize on it.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class DigestContext {
+
+  /**
+   * JsonPath configuration that reads the parsed maps and lists in place
+   */
+  public static final Configuration JSON_CONFIGURATION = Configuration.builder()
+      .jsonProvider(new JsonSmartJsonProvider()).mappingProvider(new JsonSmartMappingProvider())
+      .build();
+
+  private final DigesteroidsCaster caster;
+  private final Object original;
+  private final boolean bean;
+
+  private Map<String, Object> map;
+  private Element html;
+  private DocumentContext json;
+  private Document dom;
+  private Map<FieldMapping, Elements> selections;
+  private Map<String, Element> ids;
+
+  /**
+   * @param caster The caster used to parse the data
+   * @param original Original data
+   */
+  public DigestContext(DigesteroidsCaster caster, Object original) {
+    this.caster = caster;
+    this.original = original;
+    this.bean = PropertyReaders.isBean(original);
+  }
+
+  /**
+   * @return the original data
+   */
+  public Object getOriginal() {
+    return original;
+  }
+
+  /**
+   * @return if the original data is a plain object, whose properties are read in place instead of
+   *         converting it to a map
+   */
+  public boolean isBean() {
+    return bean;
+  }
+
+  /**
+   * @return the data as a map
+   */
+  public Map<String, Object> map() {
+    if (map == null) {
+      map = caster.map(original);
+    }
+    return map;
+  }
+
+  /**
+   * @return the data as an HTML element
+   */
+  public Element html() {
+    if (html == null) {
+      html = caster.htmlElement(original);
+    }
+    return html;
+  }
+
+  /**
+   * @return the HTML as a W3C document, for XPath queries
+   */
+  public Document dom() {
+    if (dom == null) {
+      dom = W3CDomConverter.convert(html());
+    }
+    return dom;
+  }
+
+  /**
+   * Looks up the element by its ID in an index of all the IDs of the HTML, built in a single walk
+   * the first time it's needed
+   * @param id ID to look for
+   * @return the first element with the ID, as {@link Element#getElementById(String)}, or null if
+   *         there is none
+   */
+  public Element elementById(String id) {
+    if (ids == null) {
+      final Map<String, Element> index = new HashMap<>();
+      new NodeTraversor(new NodeVisitor() {
+        @Override
+        public void head(Node node, int depth) {
+          if (node instanceof Element) {
+            String elementId = ((Element) node).id();
+            if (!elementId.isEmpty() && !index.containsKey(elementId)) {
+              index.put(elementId, (Element) node);
+            }
+          }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+        }
+      }).traverse(html());
+      ids = index;
+    }
+    return ids.get(id);
+  }
+
+  /**
+   * Selects the elements of all the mappings of the group in a single walk of the HTML, to be
+   * returned later by {@link #select(FieldMapping)}. Does nothing if the group was already selected.
+   * @param group Compiled selectors of an entity
+   */
+  public void selectAll(SelectorGroup group) {
+    if (selections == null) {
+      selections = new IdentityHashMap<>();
+    } else if (selections.containsKey(group.getMappings().get(0))) {
+      return;
+    }
+    selections.putAll(group.select(html()));
+  }
+
+  /**
+   * @param mapping Mapping with a compiled CSS selector
+   * @return the elements of the HTML that match the selector
+   */
+  public Elements select(FieldMapping mapping) {
+    if (selections != null) {
+      Elements selected = selections.get(mapping);
+      if (selected != null) {
+        return selected;
+      }
+    }
+    return Collector.collect(mapping.getCssEvaluator(), html());
+  }
+
+  /**
+   * @return the data as a JSON Path document
+   */
+  public DocumentContext json() {
+    if (json == null) {
+      json = JsonPath.using(JSON_CONFIGURATION).parse(map());
+    }
+    return json;
+  }
+
+  /**
+   * @param path Compiled JsonPath
+   * @return the value of the path, read directly from the data as a map
+   */
+  public Object read(JsonPath path) {
+    return path.read(map(), JSON_CONFIGURATION);
+  }
+
+}
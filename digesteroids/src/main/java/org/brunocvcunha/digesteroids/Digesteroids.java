@@ -0,0 +1,1392 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.xpath.XPathExpressionException;
+
+import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.access.AccessorStrategy;
+import org.brunocvcunha.digesteroids.access.LambdaAccessorStrategy;
+import org.brunocvcunha.digesteroids.access.PropertyReaders;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsDefaultCaster;
+import org.brunocvcunha.digesteroids.html.StreamingHtmlExtractor;
+import org.brunocvcunha.digesteroids.input.InputFormat;
+import org.brunocvcunha.digesteroids.input.InputFormats;
+import org.brunocvcunha.digesteroids.input.InputSource;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+
+
+/**
+ * Crawler Utils
+ * <p>
+ * Instances are immutable once built, and safe for concurrent use: the mapping plans and the
+ * digester lookups are cached in concurrent maps, and every conversion keeps its parsed input in
+ * its own {@link DigestContext}. A single instance can be shared by all threads, as long as the
+ * caster, the accessor strategy and the {@link org.brunocvcunha.digesteroids.rule.DigesterRule}s
+ * used in the mappings are thread-safe too (the default ones are).
+ * 
+ * @author brunovolpato
+ *
+ */
+public class Digesteroids {
+
+  private static Logger log = Logger.getLogger(Digesteroids.class);
+
+  /**
+   * Default maximum number of conversions pending in the batch conversions
+   */
+  public static final int DEFAULT_MAX_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 4;
+
+  private final DigesteroidsCaster caster;
+
+  private final AccessorStrategy accessors;
+
+  private final boolean singleTraversal;
+
+  private final PropertyReaders propertyReaders;
+
+  private final ConcurrentMap<Class<?>, Optional<TypeDigester<?>>> digesters = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Class<?>, ConcurrentMap<String, MappingPlan<?>>> plans = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<MappingPlan<?>, StreamingHtmlExtractor> streamingExtractors = new ConcurrentHashMap<>();
+
+
+  /**
+   * Non-Args Constructor for the Digesteroids
+   */
+  public Digesteroids() {
+    this(DigesteroidsDefaultCaster.getInstance());
+  }
+
+  /**
+   * @param caster The instance of Caster to use
+   */
+  public Digesteroids(DigesteroidsCaster caster) {
+    this(caster, new LambdaAccessorStrategy());
+  }
+
+  /**
+   * @param caster The instance of Caster to use
+   * @param accessors The strategy used to create instances and write the fields
+   */
+  public Digesteroids(DigesteroidsCaster caster, AccessorStrategy accessors) {
+    this(caster, accessors, true);
+  }
+
+  private Digesteroids(DigesteroidsCaster caster, AccessorStrategy accessors, boolean singleTraversal) {
+    super();
+    this.caster = caster;
+    this.accessors = accessors;
+    this.singleTraversal = singleTraversal;
+    this.propertyReaders = new PropertyReaders(accessors);
+  }
+
+
+  /**
+   * Convert given stream with HTML to targetType, using the mappings from the default source.
+   * @param source Source name
+   * @param is Stream with the HTML
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertHTMLToType(String source, InputStream is, Type targetType)
+      throws InstantiationException, IllegalAccessException {
+    try {
+      return convertInputToType(source, InputSource.of(is), InputFormats.get(InputFormats.HTML), targetType);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Convert the raw input to targetType, parsing it directly from the bytes with the format named
+   * @param source Source name
+   * @param input Raw input, e.g. a byte array, a buffer or a memory-mapped file
+   * @param formatName Name of the format registered in {@link InputFormats}
+   * @param targetType Target type
+   * @return Converted object
+   * @throws IOException if the input can not be read or parsed
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertInputToType(String source, InputSource input, String formatName, Type targetType)
+      throws IOException, InstantiationException, IllegalAccessException {
+    return convertInputToType(source, input, InputFormats.get(formatName), targetType);
+  }
+
+  /**
+   * Convert the raw input to targetType, parsing it directly from the bytes with the format, so
+   * it's not decoded to a String first
+   * @param source Source name
+   * @param input Raw input, e.g. a byte array, a buffer or a memory-mapped file
+   * @param format Format of the input
+   * @param targetType Target type
+   * @return Converted object
+   * @throws IOException if the input can not be read or parsed
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertInputToType(String source, InputSource input, InputFormat format, Type targetType)
+      throws IOException, InstantiationException, IllegalAccessException {
+    return convertContextToType(source, new DigestContext(caster, format.parse(input, caster)), targetType);
+  }
+
+  /**
+   * Convert the HTML read from the stream (UTF-8) to targetType, extracting the fields while the
+   * input is tokenized, without building the document. The stream is not closed.
+   * @param source Source name
+   * @param is Stream with the HTML
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @throws IOException Error reading the input
+   * @param <T> Type to return
+   * @see #convertHTMLToTypeStreaming(String, Reader, Type)
+   */
+  public <T> T convertHTMLToTypeStreaming(String source, InputStream is, Type targetType)
+      throws InstantiationException, IllegalAccessException, IOException {
+    return convertHTMLToTypeStreaming(source, new InputStreamReader(is, StandardCharsets.UTF_8), targetType);
+  }
+
+  /**
+   * Convert the HTML read from the reader to targetType, extracting the fields while the input is
+   * tokenized, without building the document. The reading stops as soon as all the fields are
+   * found, so large pages don't need to be read until the end.
+   * <p>
+   * Only <code>HTML_ID</code>, <code>HTML_CSS</code> (with simple selectors) and
+   * <code>HARDCODE</code> mappings reading text or attributes are supported, and each field is read
+   * from the first element that matches. See {@link StreamingHtmlExtractor}.
+   * @param source Source name
+   * @param reader Reader with the HTML, not closed
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @throws IOException Error reading the input
+   * @throws IllegalArgumentException If a mapping of the source can not be streamed
+   * @throws DigesteroidsException If a mandatory field is not found
+   * @param <T> Type to return
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T convertHTMLToTypeStreaming(String source, Reader reader, Type targetType)
+      throws InstantiationException, IllegalAccessException, IOException {
+    Class<T> targetClass = (Class<T>) TypeToken.get(targetType).getRawType();
+    MappingPlan<T> plan = getPlan(targetClass, source);
+
+    StreamingHtmlExtractor extractor = streamingExtractors.get(plan);
+    if (extractor == null) {
+      extractor = streamingExtractors.computeIfAbsent(plan, key -> StreamingHtmlExtractor.compile(key.getFields()));
+    }
+
+    Map<FieldMapping, String> values = extractor.extract(reader);
+
+    T target = plan.newInstance();
+    for (FieldMapping mapping : plan.getFields()) {
+      Object rawValue = mapping.getRefType() == ReferenceTypeEnum.HARDCODE ? mapping.getValue() : values.get(mapping);
+      if (rawValue == null) {
+        if (mapping.isMandatory()) {
+          throw new DigesteroidsException("Mandatory field not found: " + mapping);
+        }
+        continue;
+      }
+
+      Object fieldValue = resolveFieldValue(mapping, rawValue);
+      if (fieldValue != null) {
+        try {
+          mapping.getWriter().accept(target, fieldValue);
+        } catch (Exception e) {
+          writeFailed(targetClass, mapping.getField().getName(), e);
+        }
+      }
+    }
+
+    return target;
+  }
+
+  /**
+   * Lazily convert each element of a JSON array read from the stream (UTF-8) to targetType, using
+   * the mappings from the source parameter. Only one element is held in memory at a time.
+   * @param source Source name
+   * @param is Stream with the JSON array
+   * @param targetType Target type
+   * @return Stream of converted objects, that closes the input when closed
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> streamJson(String source, InputStream is, Type targetType) {
+    return streamJson(source, new InputStreamReader(is, StandardCharsets.UTF_8), targetType);
+  }
+
+  /**
+   * Lazily convert each element of a JSON array read from the reader to targetType, using the
+   * mappings from the source parameter. Only one element is held in memory at a time.
+   * @param source Source name
+   * @param reader Reader with the JSON array
+   * @param targetType Target type
+   * @return Stream of converted objects, that closes the reader when closed
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> streamJson(String source, Reader reader, Type targetType) {
+    Iterator<T> iterator = iterateJson(source, reader, targetType);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        .onClose(() -> {
+          try {
+            reader.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  /**
+   * Lazily convert each element of a JSON array read from the reader to targetType, using the
+   * mappings from the source parameter. The reader is closed when the array ends.
+   * @param source Source name
+   * @param reader Reader with the JSON array
+   * @param targetType Target type
+   * @return Iterator of converted objects
+   * @param <T> Type to return
+   */
+  public <T> Iterator<T> iterateJson(String source, Reader reader, Type targetType) {
+    JsonReader jsonReader = new JsonReader(reader);
+
+    return new Iterator<T>() {
+      private boolean started;
+      private boolean finished;
+
+      @Override
+      public boolean hasNext() {
+        if (finished) {
+          return false;
+        }
+
+        try {
+          if (!started) {
+            jsonReader.beginArray();
+            started = true;
+          }
+
+          if (jsonReader.hasNext()) {
+            return true;
+          }
+
+          finished = true;
+          jsonReader.endArray();
+          jsonReader.close();
+          return false;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+
+        try {
+          return convertObjectToType(source, caster.map(jsonReader), targetType);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } catch (InstantiationException | IllegalAccessException e) {
+          throw new DigesteroidsException("Could not convert JSON element to " + targetType, e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Convert all the inputs to targetType in parallel, using the common fork-join pool.
+   * @param source Source name
+   * @param inputs Inputs to convert
+   * @param targetType Target type
+   * @return Converted objects, in the same order of the inputs
+   * @param <T> Type to return
+   */
+  public <T> List<T> convertAll(String source, Collection<?> inputs, Type targetType) {
+    return convertAll(source, inputs, targetType, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Convert all the inputs to targetType in parallel, using the given executor.
+   * @param source Source name
+   * @param inputs Inputs to convert
+   * @param targetType Target type
+   * @param executor Executor to run the conversions
+   * @return Converted objects, in the same order of the inputs. The first failure cancels the
+   *         conversions still in flight and is thrown
+   * @param <T> Type to return
+   */
+  public <T> List<T> convertAll(String source, Collection<?> inputs, Type targetType,
+      Executor executor) {
+    Iterator<T> results = new ParallelConversion<>(this, source, inputs.iterator(), targetType,
+        executor, DEFAULT_MAX_IN_FLIGHT, true);
+
+    List<T> converted = new ArrayList<>(inputs.size());
+    while (results.hasNext()) {
+      converted.add(results.next());
+    }
+    return converted;
+  }
+
+  /**
+   * Convert the inputs to targetType in parallel, using a parallel stream in the common fork-join
+   * pool.
+   * @param source Source name
+   * @param inputs Inputs to convert
+   * @param targetType Target type
+   * @param ordered If the results should follow the order of the inputs
+   * @return Stream of converted objects
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> convertAll(String source, Stream<?> inputs, Type targetType, boolean ordered) {
+    Stream<?> parallel = ordered ? inputs.parallel() : inputs.parallel().unordered();
+    return parallel.map(input -> {
+      try {
+        return this.<T> convertObjectToType(source, input, targetType);
+      } catch (InstantiationException | IllegalAccessException e) {
+        throw new DigesteroidsException("Could not convert to " + targetType, e);
+      }
+    });
+  }
+
+  /**
+   * Lazily convert the inputs to targetType in the given executor. At most maxInFlight
+   * conversions are pending at any time, and inputs are only consumed when there is room, which
+   * gives backpressure for very large inputs.
+   * @param source Source name
+   * @param inputs Inputs to convert
+   * @param targetType Target type
+   * @param executor Executor to run the conversions
+   * @param maxInFlight Maximum number of conversions submitted and not yet consumed
+   * @param ordered If the results should follow the order of the inputs, otherwise they are
+   *        returned as they complete
+   * @return Stream of converted objects, that cancels the conversions in flight and closes the
+   *         inputs when closed
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> convertAll(String source, Stream<?> inputs, Type targetType,
+      Executor executor, int maxInFlight, boolean ordered) {
+    ParallelConversion<T> results = new ParallelConversion<>(this, source, inputs.iterator(),
+        targetType, executor, maxInFlight, ordered);
+
+    int characteristics = ordered ? Spliterator.ORDERED : 0;
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, characteristics), false)
+        .onClose(results::cancel)
+        .onClose(inputs::close);
+  }
+
+  /**
+   * Lazily convert each line of the JSON Lines files to targetType, in parallel in the common
+   * fork-join pool. The files are memory-mapped and split into lines without copying, and blank
+   * lines are skipped.
+   * @param source Source name
+   * @param files JSON Lines files, in UTF-8
+   * @param targetType Target type
+   * @param errorHandler Handler of the files that can not be read and the lines that can not be
+   *        converted, which are skipped
+   * @return Stream of converted objects, in the order of the files and lines
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> ingestJsonLines(String source, Stream<Path> files, Type targetType,
+      Consumer<IngestError> errorHandler) {
+    return ingest(source, files, InputFormats.get(InputFormats.JSON), true, targetType, errorHandler,
+        ForkJoinPool.commonPool(), DEFAULT_MAX_IN_FLIGHT, true);
+  }
+
+  /**
+   * Lazily convert each file to targetType, in parallel in the common fork-join pool. The files
+   * are memory-mapped and parsed with the format.
+   * @param source Source name
+   * @param files Files to convert
+   * @param formatName Name of the format of the files, as registered in {@link InputFormats}
+   * @param targetType Target type
+   * @param errorHandler Handler of the files that can not be read or converted, which are skipped
+   * @return Stream of converted objects, in the order of the files
+   * @param <T> Type to return
+   */
+  public <T> Stream<T> ingestFiles(String source, Stream<Path> files, String formatName,
+      Type targetType, Consumer<IngestError> errorHandler) {
+    return ingest(source, files, InputFormats.get(formatName), false, targetType, errorHandler,
+        ForkJoinPool.commonPool(), DEFAULT_MAX_IN_FLIGHT, true);
+  }
+
+  /**
+   * Lazily convert the records of the files to targetType in the given executor. Files are
+   * memory-mapped one at a time, as the stream is consumed, and their records (the whole file, or
+   * each of its non-blank lines) are parsed and converted in the executor, with at most
+   * maxInFlight conversions pending.
+   * <p>
+   * Failures don't stop the stream: the files that can not be mapped and the records that can
+   * not be parsed or converted are skipped and reported to the error handler, which is always
+   * called in the thread consuming the stream. Files are mapped ahead of the conversions, so the
+   * errors of a file may be reported before the ones of the records of the previous files.
+   * @param source Source name
+   * @param files Files to convert
+   * @param format Format of the records
+   * @param lines If each line of the files is a record, split on the byte '\n' (so the files
+   *        must be in UTF-8 or ASCII), otherwise each file is a single record
+   * @param targetType Target type
+   * @param errorHandler Handler of the files and records that failed
+   * @param executor Executor to run the conversions
+   * @param maxInFlight Maximum number of conversions submitted and not yet consumed
+   * @param ordered If the results should follow the order of the files and records, otherwise
+   *        they are returned as they complete
+   * @return Stream of converted objects, that cancels the conversions in flight and closes the
+   *         files when closed
+   * @param <T> Type to return
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Stream<T> ingest(String source, Stream<Path> files, InputFormat format, boolean lines,
+      Type targetType, Consumer<IngestError> errorHandler, Executor executor, int maxInFlight,
+      boolean ordered) {
+    Iterator<FileRecords.Record> records = new FileRecords(files.iterator(), lines, errorHandler);
+
+    ParallelConversion<Object> results = new ParallelConversion<>(records, input -> {
+      FileRecords.Record record = (FileRecords.Record) input;
+      try {
+        InputSource recordSource = lines ? InputSource.of(record.getBytes(), StandardCharsets.UTF_8)
+            : InputSource.of(record.getBytes());
+        Object parsed = format.parse(recordSource, caster);
+        return convertContextToType(source, new DigestContext(caster, parsed), targetType);
+      } catch (Exception e) {
+        return new IngestError(record.getFile(), lines ? record.getNumber() : 0, e);
+      }
+    }, targetType, executor, maxInFlight, ordered);
+
+    int characteristics = ordered ? Spliterator.ORDERED : 0;
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, characteristics), false)
+        .filter(result -> {
+          if (result instanceof IngestError) {
+            errorHandler.accept((IngestError) result);
+            return false;
+          }
+          return result != null;
+        })
+        .map(result -> (T) result)
+        .onClose(results::cancel)
+        .onClose(files::close);
+  }
+
+  /**
+   * Convert given original object to targetType, using the mappings from the default source.
+   * @param original Original data
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertObjectToType(Object original, Type targetType)
+      throws InstantiationException, IllegalAccessException {
+    return convertObjectToType("", original, targetType);
+    
+  }
+    
+  /**
+   * Convert given original object to targetType, using the mappings from the source parameter.
+   * @param source Source name
+   * @param original Original data
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertObjectToType(String source, Object original, Type targetType)
+      throws InstantiationException, IllegalAccessException {
+
+    if (original == null) {
+      return null;
+    }
+
+    return convertContextToType(source, new DigestContext(caster, original), targetType);
+  }
+
+  /**
+   * Convert given original object to targetType, resolving only the given fields. The projected
+   * plans are cached, like the full ones, so the same set of fields is only planned once.
+   * @param source Source name
+   * @param original Original data
+   * @param targetType Target type
+   * @param fields Names of the fields to resolve, with dots to select the fields of the nested
+   *        entities (e.g. "address.city")
+   * @return Converted object, with only the given fields set
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @throws IllegalArgumentException if a field is not mapped for the source
+   * @param <T> Type to return
+   */
+  public <T> T convertObjectToType(String source, Object original, Type targetType, Set<String> fields)
+      throws InstantiationException, IllegalAccessException {
+
+    if (original == null) {
+      return null;
+    }
+
+    return convertContextToType(source, new DigestContext(caster, original), targetType, fields);
+  }
+
+  /**
+   * Convert the data held by the context to targetType, using the mappings from the source
+   * parameter. Nested entities that use the same data share the context, so it is parsed once.
+   * <p>
+   * If targetType is an interface with the mappings in its getters, a lazy proxy is returned,
+   * that keeps the context and resolves each getter only in its first call.
+   * @param source Source name
+   * @param context Context with the original data
+   * @param targetType Target type
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @param <T> Type to return
+   */
+  public <T> T convertContextToType(String source, DigestContext context, Type targetType)
+      throws InstantiationException, IllegalAccessException {
+    return convertContextToType(source, context, targetType, null);
+  }
+
+  /**
+   * Convert the data held by the context to targetType, resolving only the given fields. The
+   * generated digesters always resolve all the fields, so they are not used for projections.
+   * @param source Source name
+   * @param context Context with the original data
+   * @param targetType Target type
+   * @param fields Names of the fields to resolve, with dots to select the fields of the nested
+   *        entities, or null to resolve all of them
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   * @throws IllegalArgumentException if a field is not mapped for the source
+   * @param <T> Type to return
+   * @see MappingPlan#project(Set, Digesteroids)
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T convertContextToType(String source, DigestContext context, Type targetType,
+      Set<String> fields) throws InstantiationException, IllegalAccessException {
+
+    Class<T> targetClass = (Class<T>) TypeToken.get(targetType).getRawType();
+
+    if (fields == null) {
+      TypeDigester<T> digester = getDigester(targetClass);
+      if (digester != null && digester.supports(source)) {
+        return digester.digest(this, source, context);
+      }
+    }
+
+    MappingPlan<T> plan = getPlan(targetClass, source);
+    if (fields != null) {
+      plan = plan.project(fields, this);
+    }
+
+    if (plan.isLazy()) {
+      return LazyEntity.create(this, plan, context);
+    }
+
+    if (singleTraversal && plan.getSelectorGroup() != null) {
+      context.selectAll(plan.getSelectorGroup());
+    }
+
+    T target = plan.newInstance();
+
+    for (FieldMapping mapping : plan.getFields()) {
+      if (log.isDebugEnabled()) {
+        log.debug("Found reference, using field: " + mapping.getValue() + ". Field name: "
+            + mapping.getField().getName() + ", Base Class: " + targetClass + ", object: "
+            + context.getOriginal().getClass());
+      }
+
+      Object fieldValue = resolveFieldValue(context, mapping);
+
+      if (fieldValue != null) {
+        try {
+          mapping.getWriter().accept(target, fieldValue);
+        } catch (Exception e) {
+          writeFailed(targetClass, mapping.getField().getName(), e);
+        }
+      }
+    }
+
+    return target;
+  }
+
+  /**
+   * Report a value that could not be written to a field of the target. Both the mapping plans and
+   * the generated digesters skip the value and keep converting the other fields.
+   * @param targetClass The target class
+   * @param fieldName Name of the field
+   * @param e Exception thrown writing the field
+   */
+  public void writeFailed(Class<?> targetClass, String fieldName, Exception e) {
+    log.warn("Exception writing field " + fieldName + " of " + targetClass, e);
+  }
+
+  /**
+   * Get the generated digester for the target class, looking it up only in the first time
+   * @param targetClass The target class
+   * @return The generated digester, or null if there is none in the classpath
+   * @param <T> Target type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> TypeDigester<T> getDigester(Class<T> targetClass) {
+    Optional<TypeDigester<?>> digester = digesters.get(targetClass);
+    if (digester == null) {
+      digester = digesters.computeIfAbsent(targetClass, Digesteroids::lookupDigester);
+    }
+
+    return (TypeDigester<T>) digester.orElse(null);
+  }
+
+  /**
+   * @param targetClass The target class
+   * @return The generated digester, if it exists
+   */
+  private static Optional<TypeDigester<?>> lookupDigester(Class<?> targetClass) {
+    if (targetClass.getAnnotation(DigesterEntity.class) == null) {
+      return Optional.empty();
+    }
+
+    String digesterName = targetClass.getName().replace('$', '_') + TypeDigester.SUFFIX;
+    try {
+      Class<?> digesterClass = Class.forName(digesterName, true, targetClass.getClassLoader());
+      log.debug("Using generated digester " + digesterName);
+      return Optional.of((TypeDigester<?>) digesterClass.newInstance());
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    } catch (Exception e) {
+      log.warn("Generated digester " + digesterName + " could not be created, using reflection", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the mapping plan for the target class and source, building it only in the first time
+   * @param targetClass The target class
+   * @param source Source name
+   * @return Mapping plan
+   * @throws InstantiationException Can not create instance of a rule
+   * @throws IllegalAccessException Access violation
+   * @param <T> Target type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> MappingPlan<T> getPlan(Class<T> targetClass, String source)
+      throws InstantiationException, IllegalAccessException {
+    ConcurrentMap<String, MappingPlan<?>> sourcePlans = plans.get(targetClass);
+    if (sourcePlans == null) {
+      sourcePlans = plans.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+    }
+
+    // the sources of the mappings are matched ignoring case, so "Site" and "site" share the plan
+    String sourceKey = source.toLowerCase(Locale.ROOT);
+    MappingPlan<T> plan = (MappingPlan<T>) sourcePlans.get(sourceKey);
+    if (plan == null) {
+      // building twice in a race is harmless, the plans are equivalent
+      plan = MappingPlan.build(targetClass, source, accessors);
+      MappingPlan<T> existing = (MappingPlan<T>) sourcePlans.putIfAbsent(sourceKey, plan);
+      if (existing != null) {
+        plan = existing;
+      }
+    }
+
+    return plan;
+  }
+
+  /**
+   * @param originalData Original data to resolve
+   * @param reference Reference annotation
+   * @param valueType Value to return
+   * @return Value resolved based on the annotation
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   */
+  public Object resolveValue(Object originalData, DigesterMapping reference, Type valueType) throws InstantiationException, IllegalAccessException {
+    return resolveValue(new DigestContext(caster, originalData), new FieldMapping(reference, valueType));
+  }
+
+  /**
+   * @param context Context with the data to resolve
+   * @param mapping Pre-resolved mapping
+   * @return Value resolved based on the mapping
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   */
+  public Object resolveValue(DigestContext context, FieldMapping mapping) throws InstantiationException, IllegalAccessException {
+
+    try {
+      if (mapping.isCollection() && mapping.getRuleChain() == null
+          && mapping.getRefType() != ReferenceTypeEnum.HARDCODE) {
+        return resolveCollection(context, mapping);
+      }
+
+      Object resolvedValue = null;
+
+      switch (mapping.getRefType()) {
+        case NORMAL:
+          resolvedValue = resolveValueNormal(context, mapping);
+          break;
+        case PASS_THROUGH:
+          resolvedValue = resolveValuePassthrough(context, mapping);
+          break;
+        case JSON_PATH:
+          resolvedValue = resolveValueJsonPath(context, mapping);
+          break;
+        case HTML_ID:
+          resolvedValue = resolveValueHTMLId(context, mapping);
+          break;
+        case HTML_CSS:
+          resolvedValue = resolveValueHTMLCss(context, mapping);
+          break;
+        case HTML_XPATH:
+          resolvedValue = resolveValueHTMLXPath(context, mapping);
+          break;
+        case HARDCODE:
+          resolvedValue = mapping.getValue();
+          break;
+        default:
+          break;
+      }
+
+
+      return castResolvedValue(resolvedValue, mapping);
+
+    } catch (Exception e) {
+
+      if (mapping.isMandatory()) {
+        throw e;
+      }
+
+      log.warn("Exception happened parsing field " + mapping.getValue(), e);
+      return null;
+    }
+  }
+  /**
+   * Apply the rule of the mapping, or cast the value to the mapping type
+   * @param resolvedValue Value read from the input
+   * @param mapping The mapping
+   * @return the converted value
+   */
+  protected Object castResolvedValue(Object resolvedValue, FieldMapping mapping) {
+    if (mapping.getRuleChain() != null && resolvedValue != null) {
+      return mapping.getRuleChain().apply(resolvedValue, caster);
+    }
+
+    // entities were already converted to the type (and lazy ones can't be copied by the caster)
+    if (mapping.isEntity() && mapping.getValueClass().isInstance(resolvedValue)) {
+      return resolvedValue;
+    }
+
+    // make sure that it's the type
+    return caster.cast(resolvedValue, mapping.getValueType(), null, mapping.getFormat());
+  }
+
+
+  /**
+   * @param context Context with the original data
+   * @param mapping The mapping to resolve
+   * @return Resolved value
+   * @throws InstantiationException Failed to create instance
+   * @throws IllegalAccessException Access violation
+   */
+  protected Object resolveValuePassthrough(DigestContext context, FieldMapping mapping)
+      throws InstantiationException, IllegalAccessException {
+    Object resolvedValue;
+
+    Type valueType = mapping.getValueType();
+
+    if (mapping.isCollection()) {
+      List<Object> array = new ArrayList<>(1);
+      array.add(convertContextToType(mapping.getSource(), context, mapping.getElementType(),
+          mapping.getProjection()));
+      resolvedValue = array;
+
+    } else {
+      
+      resolvedValue = convertContextToType(mapping.getSource(), context, valueType, mapping.getProjection());
+    }
+    return resolvedValue;
+  }
+
+  /**
+   * Maps each node matched by the mapping (the elements selected in the HTML, the items of a
+   * JsonPath array or of a collection in the data) to an element of the collection, converting
+   * the entities with their cached plans
+   * @param context Context with the data
+   * @param mapping The mapping of a collection
+   * @return the collection, with the type of the field
+   * @throws InstantiationException Can not create instance of an element
+   * @throws IllegalAccessException Access violation
+   */
+  protected Collection<Object> resolveCollection(DigestContext context, FieldMapping mapping)
+      throws InstantiationException, IllegalAccessException {
+    if (mapping.getRefType() == ReferenceTypeEnum.PASS_THROUGH && !isMultiple(context.getOriginal())) {
+      // the data itself is the only element
+      Collection<Object> collection = newCollection(mapping.getValueClass(), 1);
+      collection.add(convertContextToType(mapping.getSource(), context, mapping.getElementType(),
+          mapping.getProjection()));
+      return collection;
+    }
+
+    List<?> nodes = collectionNodes(context, mapping);
+
+    Collection<Object> collection = newCollection(mapping.getValueClass(), nodes.size());
+    for (Object node : nodes) {
+      Object element = node == null ? null : elementValue(node, mapping);
+      if (element != null) {
+        collection.add(element);
+      }
+    }
+    return collection;
+  }
+
+  /**
+   * @param context Context with the data
+   * @param mapping The mapping of a collection
+   * @return the nodes that are mapped to the elements
+   */
+  private List<?> collectionNodes(DigestContext context, FieldMapping mapping) {
+    switch (mapping.getRefType()) {
+      case HTML_CSS:
+        return selectElements(context, mapping);
+      case HTML_XPATH:
+        return nodes(evaluateXPath(context, mapping));
+      case HTML_ID:
+        return nodes(context.elementById(mapping.getValue()));
+      case JSON_PATH:
+        return nodes(resolveValueJsonPath(context, mapping));
+      case PASS_THROUGH:
+        return nodes(context.getOriginal());
+      case NORMAL:
+      default:
+        Object root = context.isBean() ? context.getOriginal() : context.map();
+        Object value = root instanceof Map ? ((Map<?, ?>) root).get(mapping.getValue())
+            : propertyReaders.read(root, mapping.getValue());
+        if (value != null || mapping.getPropertyPath() == null) {
+          return nodes(value);
+        }
+
+        // every match of the path, with the collections found at the end expanded
+        List<Object> found = mapping.getPropertyPath().readAll(root, propertyReaders);
+        List<Object> all = new ArrayList<>(found.size());
+        for (Object item : found) {
+          all.addAll(nodes(item));
+        }
+        return all;
+    }
+  }
+
+  /**
+   * @param value Resolved value
+   * @return if the value has multiple nodes
+   */
+  private static boolean isMultiple(Object value) {
+    return value instanceof Iterable || (value != null && value.getClass().isArray());
+  }
+
+  /**
+   * @param value Resolved value
+   * @return the items of the collection or array, the value itself as the only node, or no nodes
+   *         when it's null
+   */
+  private static List<?> nodes(Object value) {
+    if (value == null) {
+      return Collections.emptyList();
+    }
+    if (value instanceof List) {
+      return (List<?>) value;
+    }
+    if (value instanceof Collection) {
+      return new ArrayList<>((Collection<?>) value);
+    }
+    if (value instanceof Iterable) {
+      List<Object> items = new ArrayList<>();
+      for (Object item : (Iterable<?>) value) {
+        items.add(item);
+      }
+      return items;
+    }
+    if (value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      List<Object> items = new ArrayList<>(length);
+      for (int i = 0; i < length; i++) {
+        items.add(Array.get(value, i));
+      }
+      return items;
+    }
+    return Collections.singletonList(value);
+  }
+
+  /**
+   * @param node Node matched by the mapping
+   * @param mapping The mapping of a collection
+   * @return the element of the collection, or null if it should be skipped
+   * @throws InstantiationException Can not create instance of an element
+   * @throws IllegalAccessException Access violation
+   */
+  private Object elementValue(Object node, FieldMapping mapping)
+      throws InstantiationException, IllegalAccessException {
+    if (mapping.isElementEntity()) {
+      return convertContextToType(mapping.getSource(), new DigestContext(caster, node),
+          mapping.getElementType(), mapping.getProjection());
+    }
+
+    Object value = node;
+    if (node instanceof Element) {
+      value = elementText((Element) node, mapping);
+    }
+    if (value instanceof String) {
+      value = mapping.getNormalizer().normalize((String) value);
+    }
+
+    if (value == null || mapping.getElementClass().isInstance(value)) {
+      return value;
+    }
+    return caster.cast(value, mapping.getElementType(), null, mapping.getFormat());
+  }
+
+  /**
+   * @param element Element matched by the mapping
+   * @param mapping The mapping
+   * @return the text node, text or attribute of the element, as defined in the mapping, or the
+   *         element itself
+   */
+  private static Object elementText(Element element, FieldMapping mapping) {
+    int textNode = mapping.getTextNode();
+    if (textNode >= 0) {
+      int index = 0;
+      for (TextNode node : element.textNodes()) {
+        if (node.text() != null && !node.text().trim().isEmpty() && index++ == textNode) {
+          return node.text();
+        }
+      }
+    }
+
+    if (mapping.isHtmlText()) {
+      return element.text();
+    }
+
+    if (!mapping.getAttribute().isEmpty()) {
+      return element.attr(mapping.getAttribute());
+    }
+
+    return element;
+  }
+
+  /**
+   * @param collectionClass Class of the collection field
+   * @param size Number of elements
+   * @return an empty collection of the class, presized when possible
+   * @throws InstantiationException Can not create instance of the collection
+   * @throws IllegalAccessException Access violation
+   */
+  @SuppressWarnings("unchecked")
+  private static Collection<Object> newCollection(Class<?> collectionClass, int size)
+      throws InstantiationException, IllegalAccessException {
+    if (collectionClass.isAssignableFrom(ArrayList.class)) {
+      return new ArrayList<>(size);
+    }
+    if (collectionClass.isAssignableFrom(LinkedHashSet.class)) {
+      return new LinkedHashSet<>(Math.max(16, (int) (size / .75f) + 1));
+    }
+    if (collectionClass.isAssignableFrom(TreeSet.class)) {
+      return new TreeSet<>();
+    }
+    if (collectionClass.isAssignableFrom(ArrayDeque.class)) {
+      return new ArrayDeque<>(size);
+    }
+    return (Collection<Object>) collectionClass.newInstance();
+  }
+
+  /**
+   * @param context Context with the HTML
+   * @param mapping The mapping with the ID to look for
+   * @return HTML Information
+   */
+  protected Object resolveValueHTMLId(DigestContext context, FieldMapping mapping) {
+    Element elementById = context.elementById(mapping.getValue());
+    
+    if (mapping.getTextNode() >= 0) {
+      return elementById.textNodes().get(mapping.getTextNode());
+    }
+    
+    if (mapping.isHtmlText()) {
+      return elementById.text();
+    }
+
+    if (!mapping.getAttribute().isEmpty()) {
+      return elementById.attr(mapping.getAttribute());
+    }
+    
+    return elementById;
+  }
+
+  /**
+   * @param context Context with the HTML
+   * @param mapping The mapping with the CSS selector to look for
+   * @return HTML Information
+   */
+  protected Object resolveValueHTMLCss(DigestContext context, FieldMapping mapping) {
+    return resolveElements(selectElements(context, mapping), mapping);
+  }
+
+  /**
+   * @param context Context with the HTML
+   * @param mapping The mapping with the CSS selector to look for
+   * @return the elements selected, with the compiled selector when there is one
+   */
+  private static Elements selectElements(DigestContext context, FieldMapping mapping) {
+    if (mapping.getCssEvaluator() == null) {
+      // invalid selector, let jsoup report it
+      return context.html().select(mapping.getValue());
+    }
+    return context.select(mapping);
+  }
+
+  /**
+   * @param elements Elements selected by the mapping
+   * @param mapping The mapping
+   * @return the text node, text or attribute of the elements, as defined in the mapping, or the
+   *         elements themselves
+   */
+  protected Object resolveElements(Elements elements, FieldMapping mapping) {
+    int textNode = mapping.getTextNode();
+    
+    if (!elements.isEmpty() && textNode >= 0) {
+      List<TextNode> selectedNode = elements.first().textNodes()
+          .stream()
+          .filter(node -> node.text() != null && !node.text().trim().isEmpty())
+          .collect(Collectors.toList());
+      
+      if (selectedNode.size() > textNode) {
+        return selectedNode.get(textNode).text();
+      }
+    }
+    
+    if (mapping.isHtmlText()) {
+      return elements.text();
+    }
+    
+    if (!mapping.getAttribute().isEmpty()) {
+      return elements.attr(mapping.getAttribute());
+    }
+    
+    return elements;
+  }
+
+  /**
+   * @param context Context with the HTML
+   * @param mapping The mapping with the XPath selector to look for
+   * @return HTML Information
+   */
+  protected Object resolveValueHTMLXPath(DigestContext context, FieldMapping mapping) {
+    Object result = evaluateXPath(context, mapping);
+
+    if (result instanceof Elements) {
+      return resolveElements((Elements) result, mapping);
+    }
+    return result;
+  }
+
+  /**
+   * Evaluates the XPath of the mapping. The mappings written before XPath was supported used CSS
+   * selectors, so the value is selected as CSS when it's not a valid XPath, or when it's also a
+   * valid CSS selector and the XPath doesn't select any element (e.g. <code>p &gt; span</code> is
+   * a comparison in XPath, and <code>span</code> a child of the document node).
+   * @param context Context with the HTML
+   * @param mapping The mapping with the XPath
+   * @return the elements selected, or the String value of the expression
+   */
+  private static Object evaluateXPath(DigestContext context, FieldMapping mapping) {
+    if (mapping.getXPath() == null) {
+      return selectElements(context, mapping);
+    }
+
+    Object result;
+    try {
+      result = mapping.getXPath().evaluate(context.dom());
+    } catch (XPathExpressionException e) {
+      throw new DigesteroidsException("Could not evaluate XPath " + mapping.getValue(), e);
+    }
+
+    boolean selected = result instanceof Elements && !((Elements) result).isEmpty();
+    if (!selected && mapping.getCssEvaluator() != null) {
+      if (log.isDebugEnabled()) {
+        log.debug("XPath " + mapping.getValue() + " selected no element, using it as a CSS selector");
+      }
+      return context.select(mapping);
+    }
+    return result;
+  }
+
+  /**
+   * @param context Context with the JSON data
+   * @param mapping The mapping with the JsonPath to read
+   * @return Json Path information
+   */
+  protected Object resolveValueJsonPath(DigestContext context, FieldMapping mapping) {
+    if (mapping.getJsonPath() != null) {
+      return context.read(mapping.getJsonPath());
+    }
+    return context.json().read(mapping.getValue());
+  }
+
+  /**
+   * Resolve value using simple getter
+   * @param context Context with the original data
+   * @param mapping The mapping with the key where the data is
+   * @return Resolved value
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   */
+  protected Object resolveValueNormal(DigestContext context, FieldMapping mapping)
+      throws InstantiationException, IllegalAccessException {
+    Object resolvedValue;
+
+    if (context.isBean()) {
+      // read the plain object in place, instead of converting it to a map
+      Object bean = context.getOriginal();
+      resolvedValue = propertyReaders.read(bean, mapping.getValue());
+      if (resolvedValue == null && mapping.getPropertyPath() != null) {
+        resolvedValue = mapping.getPropertyPath().read(bean, propertyReaders);
+      }
+    } else {
+      Map<String, Object> targetMap = context.map();
+
+      resolvedValue = targetMap.get(mapping.getValue());
+      if (resolvedValue == null && mapping.getPropertyPath() != null) {
+        resolvedValue = mapping.getPropertyPath().read(targetMap, propertyReaders);
+      }
+    }
+
+    if (mapping.isEntity()) {
+      resolvedValue = convertObjectToType(mapping.getSource(), resolvedValue, mapping.getValueType(),
+          mapping.getProjection());
+    }
+    return resolvedValue;
+  }
+
+  /**
+   * Resolve the value of the mapping, already normalized and converted to the field class, so it
+   * is ready to be written in the target
+   * @param context Context with the data to resolve
+   * @param mapping Pre-resolved mapping
+   * @return Value to write in the field, or null if there is none
+   * @throws InstantiationException Can not create instance of target object
+   * @throws IllegalAccessException Access violation
+   */
+  public Object resolveFieldValue(DigestContext context, FieldMapping mapping)
+      throws InstantiationException, IllegalAccessException {
+    return toFieldValue(resolveValue(context, mapping), mapping);
+  }
+
+  /**
+   * Convert a value already read from the input (e.g. by the streaming HTML extraction) in the
+   * same way as {@link #resolveFieldValue(DigestContext, FieldMapping)}
+   * @param mapping The mapping of the field
+   * @param rawValue Value read from the input
+   * @return Value for the field, or null if it can not be converted
+   */
+  public Object resolveFieldValue(FieldMapping mapping, Object rawValue) {
+    Object resolvedValue;
+    try {
+      resolvedValue = castResolvedValue(rawValue, mapping);
+    } catch (RuntimeException e) {
+      if (mapping.isMandatory()) {
+        throw e;
+      }
+
+      log.warn("Exception happened parsing field " + mapping.getValue(), e);
+      return null;
+    }
+
+    return toFieldValue(resolvedValue, mapping);
+  }
+
+  /**
+   * Trim the value and make sure it's of the field type
+   * @param resolvedValue Value resolved by the mapping
+   * @param mapping The mapping of the field
+   * @return Value for the field
+   */
+  private Object toFieldValue(Object resolvedValue, FieldMapping mapping) {
+    if (resolvedValue == null) {
+      return null;
+    }
+
+    if (resolvedValue instanceof String) {
+      resolvedValue = mapping.getNormalizer().normalize((String) resolvedValue);
+    }
+
+    Class<?> valueType = mapping.getValueClass();
+
+    // if the value and the field are compatible, so just
+    // use it
+    if (valueType.isInstance(resolvedValue)) {
+      return resolvedValue;
+    }
+
+    // if the value cannot be used for the field (e.g.
+    // String to a Date)
+    // so we need to convert types. sometimes it happens because
+    // the lack of support
+    // of some types in JSON
+    if (log.isDebugEnabled()) {
+      log.debug("Need to convert " + resolvedValue.getClass() + " to " + valueType);
+    }
+
+    try {
+      return caster.cast(resolvedValue, valueType, null, mapping.getFormat());
+    } catch (Exception e) {
+      log.warn("Exception occurred while trying to convert data - " + resolvedValue + " - " + mapping, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the caster
+   */
+  public DigesteroidsCaster getCaster() {
+    return caster;
+  }
+
+  /**
+   * @return the accessor strategy
+   */
+  public AccessorStrategy getAccessors() {
+    return accessors;
+  }
+
+  /**
+   * @return if the CSS selectors of an entity are evaluated in a single walk of the HTML
+   */
+  public boolean isSingleTraversal() {
+    return singleTraversal;
+  }
+
+  /**
+   * @param caster the caster to use
+   * @return a new instance with the same accessor strategy and the given caster
+   */
+  public Digesteroids withCaster(DigesteroidsCaster caster) {
+    return new Digesteroids(caster, accessors, singleTraversal);
+  }
+
+  /**
+   * @return builder for a customized instance
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder for {@link Digesteroids}.
+   * 
+   * @author Bruno Candido Volpato da Cunha
+   */
+  public static class Builder {
+
+    private DigesteroidsCaster caster;
+    private AccessorStrategy accessors;
+    private boolean singleTraversal = true;
+
+    private Builder() {
+    }
+
+    /**
+     * @param caster the caster to use, defaults to {@link DigesteroidsDefaultCaster#getInstance()}
+     * @return the builder
+     */
+    public Builder caster(DigesteroidsCaster caster) {
+      this.caster = caster;
+      return this;
+    }
+
+    /**
+     * @param accessors the accessor strategy to use, defaults to {@link LambdaAccessorStrategy}
+     * @return the builder
+     */
+    public Builder accessors(AccessorStrategy accessors) {
+      this.accessors = accessors;
+      return this;
+    }
+
+    /**
+     * @param singleTraversal if the CSS selectors of an entity are evaluated together in a single
+     *        walk of the HTML, instead of one walk per field. Defaults to true
+     * @return the builder
+     */
+    public Builder singleTraversal(boolean singleTraversal) {
+      this.singleTraversal = singleTraversal;
+      return this;
+    }
+
+    /**
+     * @return the instance
+     */
+    public Digesteroids build() {
+      return new Digesteroids(caster != null ? caster : DigesteroidsDefaultCaster.getInstance(),
+          accessors != null ? accessors : new LambdaAccessorStrategy(), singleTraversal);
+    }
+  }
+
+}
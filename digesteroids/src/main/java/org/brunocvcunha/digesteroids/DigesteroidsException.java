@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+/**
+ * Unchecked exception thrown when a conversion fails in a context that can not throw checked
+ * exceptions, such as lazy iterators and streams, or when a mandatory value is missing.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class DigesteroidsException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * @param message Message
+   */
+  public DigesteroidsException(String message) {
+    super(message);
+  }
+
+  /**
+   * @param message Message
+   * @param cause Cause
+   */
+  public DigesteroidsException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+}
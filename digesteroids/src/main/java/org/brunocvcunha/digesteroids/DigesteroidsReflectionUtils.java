@@ -20,13 +20,18 @@ import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.access.AccessorStrategy;
+import org.brunocvcunha.digesteroids.access.LambdaAccessorStrategy;
+import org.brunocvcunha.digesteroids.access.PropertyPath;
+import org.brunocvcunha.digesteroids.access.PropertyReaders;
 import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
 import org.brunocvcunha.digesteroids.cast.DigesteroidsDefaultCaster;
 
@@ -41,6 +46,16 @@ public class DigesteroidsReflectionUtils {
 
   private static DigesteroidsCaster caster = DigesteroidsDefaultCaster.getInstance();
 
+  private static AccessorStrategy accessors = new LambdaAccessorStrategy();
+
+  private static final PropertyReaders readers = new PropertyReaders(accessors);
+
+  private static final ConcurrentMap<Class<?>, Supplier<?>> constructors = new ConcurrentHashMap<>();
+
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Method>> writeMethods = new ConcurrentHashMap<>();
+
+  private static final ConcurrentMap<Method, BiConsumer<Object, Object>> setters = new ConcurrentHashMap<>();
+
   /**
    * Builds a instance of the class for a map containing the values, without specifying the handler
    * for differences
@@ -76,13 +91,14 @@ public class DigesteroidsReflectionUtils {
    * @throws InvocationTargetException Invalid target
    * @param <T> Type of the instance to build
    */
+  @SuppressWarnings("unchecked")
   public static <T> T buildInstanceForMap(Class<T> clazz, Map<String, Object> values,
       DigesteroidsCaster caster) throws InstantiationException, IllegalAccessException,
       IntrospectionException, IllegalArgumentException, InvocationTargetException {
 
     log.debug("Building new instance of Class " + clazz.getName());
 
-    T instance = clazz.newInstance();
+    T instance = (T) constructors.computeIfAbsent(clazz, accessors::constructor).get();
 
     for (String key : values.keySet()) {
       Object value = values.get(key);
@@ -92,23 +108,21 @@ public class DigesteroidsReflectionUtils {
         continue;
       }
 
-      log.debug(
-          "Invoke setter for " + key + " (" + value.getClass() + " / " + value.toString() + ")");
-      Method setter = null;
-      try {
-        setter = new PropertyDescriptor(key.replace('.', '_'), clazz).getWriteMethod();
-      } catch (Exception e) {
-        throw new IllegalArgumentException("Setter for field " + key + " was not found", e);
+      if (log.isDebugEnabled()) {
+        log.debug(
+            "Invoke setter for " + key + " (" + value.getClass() + " / " + value.toString() + ")");
       }
+      Method setter = getWriteMethod(clazz, key);
+      BiConsumer<Object, Object> writer = setters.computeIfAbsent(setter, accessors::setter);
 
       Class<?> argumentType = setter.getParameterTypes()[0];
 
       if (argumentType.isAssignableFrom(value.getClass())) {
-        setter.invoke(instance, value);
+        writer.accept(instance, value);
       } else {
 
-        Object newValue = caster.cast(value, setter.getParameterTypes()[0]);
-        setter.invoke(instance, newValue);
+        Object newValue = caster.cast(value, argumentType);
+        writer.accept(instance, newValue);
 
       }
     }
@@ -117,6 +131,28 @@ public class DigesteroidsReflectionUtils {
   }
 
 
+  /**
+   * @param clazz Class to look
+   * @param key Property name
+   * @return The setter of the property, cached per class
+   */
+  private static Method getWriteMethod(Class<?> clazz, String key) {
+    ConcurrentMap<String, Method> classMethods =
+        writeMethods.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
+
+    Method setter = classMethods.get(key);
+    if (setter == null) {
+      try {
+        setter = new PropertyDescriptor(key.replace('.', '_'), clazz).getWriteMethod();
+      } catch (Exception e) {
+        throw new IllegalArgumentException("Setter for field " + key + " was not found", e);
+      }
+      classMethods.putIfAbsent(key, setter);
+    }
+
+    return setter;
+  }
+
   /**
    * Get the closest annotation for a method (inherit from class)
    * 
@@ -145,13 +181,7 @@ public class DigesteroidsReflectionUtils {
    * @return Found data
    */
   public static Object getRecursive(Map<String, Object> dataMap, String fieldName) {
-    List<Object> values = getAllRecursive(dataMap, fieldName);
-
-    if (values == null || values.isEmpty()) {
-      return null;
-    }
-
-    return values.get(0);
+    return PropertyPath.compile(fieldName).read(dataMap, readers);
   }
 
   /**
@@ -160,30 +190,7 @@ public class DigesteroidsReflectionUtils {
    * @return Found data
    */
   public static List<Object> getAllRecursive(Map<String, Object> dataMap, String fieldName) {
-    List<Object> values = Arrays.asList((Object) dataMap);
-
-    List<Object> nextLevels = new ArrayList<>();
-    String[] fieldStructure = fieldName.split("\\.");
-    for (String fieldLevel : fieldStructure) {
-      for (Object value : values) {
-
-        List<Object> extractedValues = extractDeepestValues(value, fieldLevel);
-
-        for (Object extracted : extractedValues) {
-          if (extracted != null) {
-            nextLevels.add(extracted);
-          }
-        }
-        value = extractDeepestValue(value, fieldLevel);
-
-      }
-
-      values = nextLevels;
-      nextLevels = new ArrayList<>();
-
-    }
-
-    return values;
+    return PropertyPath.compile(fieldName).readAll(dataMap, readers);
   }
 
   /**
@@ -192,44 +199,7 @@ public class DigesteroidsReflectionUtils {
    * @return Extract values
    */
   public static List<Object> extractDeepestValues(Object value, String fieldLevel) {
-
-    List<Map<String, Object>> levelMaps = new ArrayList<>();
-    if (value instanceof Map) {
-      levelMaps.add((Map<String, Object>) value);
-    } else if (value instanceof Collection) {
-      Collection<?> col = (Collection<?>) value;
-      if (col.size() > 0) {
-        for (Object element : col) {
-          levelMaps.add(caster.map(element));
-        }
-      }
-    } else {
-
-      String jsonVal = caster.json(value);
-      if (jsonVal.startsWith("[")) {
-        List<Map<String, Object>> col = caster.mapList(jsonVal);
-        if (col.size() > 0) {
-          for (Map<String, Object> element : col) {
-            levelMaps.add(element);
-          }
-        }
-      } else {
-        levelMaps.add(caster.map(jsonVal));
-      }
-    }
-
-    if (levelMaps == null || levelMaps.isEmpty()) {
-      return null;
-    }
-
-    List<Object> values = new ArrayList<>();
-    for (Map<String, Object> levelMap : levelMaps) {
-      if (levelMap.containsKey(fieldLevel)) {
-        values.add(levelMap.get(fieldLevel));
-      }
-    }
-
-    return values;
+    return PropertyPath.compile(fieldLevel).readAll(value, readers);
   }
 
   /**
@@ -238,15 +208,8 @@ public class DigesteroidsReflectionUtils {
    * @return Extract value
    */
   public static Object extractDeepestValue(Object value, String fieldLevel) {
-    List<Object> values = extractDeepestValues(value, fieldLevel);
-    if (values == null || values.isEmpty()) {
-      return null;
-    }
-
-    return values.get(0);
+    return PropertyPath.compile(fieldLevel).read(value, readers);
   }
 
 
 }
-
-
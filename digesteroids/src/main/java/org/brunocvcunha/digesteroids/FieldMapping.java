@@ -0,0 +1,566 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import com.google.gson.reflect.TypeToken;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import javax.xml.xpath.XPathExpressionException;
+
+import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.access.PropertyPath;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.html.CompiledXPath;
+import org.brunocvcunha.digesteroids.html.CssSelectors;
+import org.brunocvcunha.digesteroids.rule.DigesterRule;
+import org.brunocvcunha.digesteroids.rule.RuleChain;
+import org.brunocvcunha.digesteroids.rule.Rules;
+import org.brunocvcunha.digesteroids.rule.TypedDigesterRule;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.Selector;
+
+/**
+ * Pre-resolved information of a single {@link DigesterMapping}, so the annotation and the
+ * reflection metadata don't need to be read again for every conversion.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class FieldMapping {
+
+  private static Logger log = Logger.getLogger(FieldMapping.class);
+
+  private final Field field;
+  private final Method writeMethod;
+  private final BiConsumer<Object, Object> writer;
+  private final Type valueType;
+  private final Class<?> valueClass;
+  private final boolean entity;
+  private final Type elementType;
+  private final Class<?> elementClass;
+  private final boolean elementEntity;
+
+  private final String source;
+  private final ReferenceTypeEnum refType;
+  private final String value;
+  private final RuleChain rules;
+  private final boolean htmlText;
+  private final int textNode;
+  private final boolean trim;
+  private final String attribute;
+  private final boolean mandatory;
+  private final String format;
+  private final JsonPath jsonPath;
+  private final CompiledXPath xpath;
+  private final Evaluator cssEvaluator;
+  private final PropertyPath propertyPath;
+  private final NormalizeModeEnum[] normalize;
+  private final TextNormalizer normalizer;
+  private final Set<String> projection;
+
+  /**
+   * Creates a mapping that is not bound to any field
+   * @param reference Annotation to read the attributes from
+   * @param valueType The type of the value to resolve
+   * @throws InstantiationException Can not create instance of the rule
+   * @throws IllegalAccessException Access violation
+   */
+  public FieldMapping(DigesterMapping reference, Type valueType)
+      throws InstantiationException, IllegalAccessException {
+    this(reference, null, null, null, valueType);
+  }
+
+  /**
+   * @param reference Annotation to read the attributes from
+   * @param field The field that is mapped
+   * @param writeMethod The setter for the field, null when the field is written directly
+   * @param writer The accessor that writes the value in the target
+   * @param valueType The type of the value to resolve
+   * @throws InstantiationException Can not create instance of the rule
+   * @throws IllegalAccessException Access violation
+   * @throws IllegalArgumentException if a rule can not be instantiated
+   */
+  public FieldMapping(DigesterMapping reference, Field field, Method writeMethod,
+      BiConsumer<Object, Object> writer, Type valueType)
+      throws InstantiationException, IllegalAccessException {
+    this.field = field;
+    this.writeMethod = writeMethod;
+    this.writer = writer;
+    this.valueType = valueType;
+    this.valueClass = TypeToken.get(valueType).getRawType();
+    this.entity = valueClass.getAnnotation(DigesterEntity.class) != null;
+    this.elementType = elementType(valueType, valueClass);
+    this.elementClass = elementType == null ? null : TypeToken.get(elementType).getRawType();
+    this.elementEntity = elementClass != null && elementClass.getAnnotation(DigesterEntity.class) != null;
+
+    this.source = reference.source();
+    this.refType = reference.refType();
+    this.value = reference.value();
+    this.htmlText = reference.htmlText();
+    this.textNode = reference.textNode();
+    this.trim = reference.trim();
+    this.attribute = reference.attribute();
+    this.mandatory = reference.mandatory();
+    this.format = reference.format();
+    this.normalize = reference.normalize();
+    this.normalizer = TextNormalizer.compile(trim, normalize);
+    this.jsonPath = compileJsonPath(refType, value);
+    this.xpath = compileXPath(refType, value);
+    this.cssEvaluator = compileCss(refType, value, xpath);
+    this.propertyPath = compilePropertyPath(refType, value);
+
+    this.rules = RuleChain.of(ruleInstances(reference));
+    this.projection = null;
+  }
+
+  /**
+   * Creates a mapping from the attribute values, without reading any annotation. Used by the
+   * generated {@link TypeDigester}s.
+   * @param source Source name
+   * @param refType Reference type
+   * @param value Reference value
+   * @param rules Rule instances, in the order they are applied, or null
+   * @param htmlText If should return HTML text
+   * @param textNode Text node to return, or -1
+   * @param trim If should trim the value
+   * @param attribute Attribute to return
+   * @param mandatory If the value is mandatory
+   * @param format Format of the value, or empty
+   * @param normalize Normalization modes, in addition to the trim
+   * @param valueType The type of the value to resolve
+   */
+  public FieldMapping(String source, ReferenceTypeEnum refType, String value, TypedDigesterRule<?, ?>[] rules,
+      boolean htmlText, int textNode, boolean trim, String attribute, boolean mandatory,
+      String format, NormalizeModeEnum[] normalize, Type valueType) {
+    this.field = null;
+    this.writeMethod = null;
+    this.writer = null;
+    this.valueType = valueType;
+    this.valueClass = TypeToken.get(valueType).getRawType();
+    this.entity = valueClass.getAnnotation(DigesterEntity.class) != null;
+    this.elementType = elementType(valueType, valueClass);
+    this.elementClass = elementType == null ? null : TypeToken.get(elementType).getRawType();
+    this.elementEntity = elementClass != null && elementClass.getAnnotation(DigesterEntity.class) != null;
+
+    this.source = source;
+    this.refType = refType;
+    this.value = value;
+    this.rules = rules == null ? null : RuleChain.of(Arrays.asList(rules));
+    this.htmlText = htmlText;
+    this.textNode = textNode;
+    this.trim = trim;
+    this.attribute = attribute;
+    this.mandatory = mandatory;
+    this.format = format;
+    this.normalize = normalize.clone();
+    this.normalizer = TextNormalizer.compile(trim, normalize);
+    this.jsonPath = compileJsonPath(refType, value);
+    this.xpath = compileXPath(refType, value);
+    this.cssEvaluator = compileCss(refType, value, xpath);
+    this.propertyPath = compilePropertyPath(refType, value);
+    this.projection = null;
+  }
+
+  /**
+   * Copies the mapping, restricting the fields resolved in the entity of the value
+   * @param mapping Mapping to copy
+   * @param projection Fields of the entity to resolve
+   */
+  private FieldMapping(FieldMapping mapping, Set<String> projection) {
+    this.field = mapping.field;
+    this.writeMethod = mapping.writeMethod;
+    this.writer = mapping.writer;
+    this.valueType = mapping.valueType;
+    this.valueClass = mapping.valueClass;
+    this.entity = mapping.entity;
+    this.elementType = mapping.elementType;
+    this.elementClass = mapping.elementClass;
+    this.elementEntity = mapping.elementEntity;
+
+    this.source = mapping.source;
+    this.refType = mapping.refType;
+    this.value = mapping.value;
+    this.rules = mapping.rules;
+    this.htmlText = mapping.htmlText;
+    this.textNode = mapping.textNode;
+    this.trim = mapping.trim;
+    this.attribute = mapping.attribute;
+    this.mandatory = mapping.mandatory;
+    this.format = mapping.format;
+    this.normalize = mapping.normalize;
+    this.normalizer = mapping.normalizer;
+    this.jsonPath = mapping.jsonPath;
+    this.xpath = mapping.xpath;
+    this.cssEvaluator = mapping.cssEvaluator;
+    this.propertyPath = mapping.propertyPath;
+    this.projection = projection;
+  }
+
+  /**
+   * @param projection Fields of the entity (or of the elements, for collections) to resolve,
+   *        possibly nested with dots
+   * @return a copy of this mapping that only resolves the given fields of the entity
+   */
+  public FieldMapping withProjection(Set<String> projection) {
+    return new FieldMapping(this, projection);
+  }
+
+  /**
+   * @param valueType The type of the value
+   * @param valueClass The raw class of the value
+   * @return the type of the elements if the value is a collection, Object if it's a raw
+   *         collection, or null if it's not a collection
+   */
+  private static Type elementType(Type valueType, Class<?> valueClass) {
+    if (!Collection.class.isAssignableFrom(valueClass)) {
+      return null;
+    }
+
+    Type collectionType = TypeToken.get(valueType).getType();
+    if (collectionType instanceof ParameterizedType) {
+      Type element = ((ParameterizedType) collectionType).getActualTypeArguments()[0];
+      if (element instanceof WildcardType) {
+        element = ((WildcardType) element).getUpperBounds()[0];
+      }
+      if (element instanceof Class || element instanceof ParameterizedType) {
+        return element;
+      }
+    }
+    return Object.class;
+  }
+
+  /**
+   * @param reference Annotation with the rules
+   * @return the instances of the rule and the chained rules, in order
+   */
+  @SuppressWarnings("unchecked")
+  private static List<TypedDigesterRule<?, ?>> ruleInstances(DigesterMapping reference) {
+    List<TypedDigesterRule<?, ?>> instances = new ArrayList<>();
+    if (reference.rule() != null && !reference.rule().isInterface()) {
+      instances.add(Rules.instance(reference.rule()));
+    }
+    for (Class<? extends TypedDigesterRule> ruleClass : reference.rules()) {
+      instances.add(Rules.instance((Class<TypedDigesterRule<?, ?>>) ruleClass));
+    }
+    return instances;
+  }
+
+  /**
+   * Compiles the JsonPath once, so it's not parsed again for every conversion
+   * @param refType Reference type
+   * @param value Reference value
+   * @return the compiled path, or null if it's not a JSON_PATH reference or the path is invalid
+   */
+  private static JsonPath compileJsonPath(ReferenceTypeEnum refType, String value) {
+    if (refType != ReferenceTypeEnum.JSON_PATH) {
+      return null;
+    }
+
+    try {
+      return JsonPath.compile(value);
+    } catch (InvalidPathException e) {
+      log.warn("Invalid JsonPath - " + value, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the field
+   */
+  public Field getField() {
+    return field;
+  }
+
+  /**
+   * @return the fields of the entity (or of the elements, for collections) to resolve, or null to
+   *         resolve all of them
+   */
+  public Set<String> getProjection() {
+    return projection;
+  }
+
+  /**
+   * @return the write method
+   */
+  public Method getWriteMethod() {
+    return writeMethod;
+  }
+
+  /**
+   * @return the writer, receiving the target and the value
+   */
+  public BiConsumer<Object, Object> getWriter() {
+    return writer;
+  }
+
+  /**
+   * @return the value type
+   */
+  public Type getValueType() {
+    return valueType;
+  }
+
+  /**
+   * @return the raw class of the value type
+   */
+  public Class<?> getValueClass() {
+    return valueClass;
+  }
+
+  /**
+   * @return if the value class is a {@link DigesterEntity}
+   */
+  public boolean isEntity() {
+    return entity;
+  }
+
+  /**
+   * @return if the value is a collection, whose elements are mapped one by one
+   */
+  public boolean isCollection() {
+    return elementType != null;
+  }
+
+  /**
+   * @return the type of the elements of the collection, or null if the value is not a collection
+   */
+  public Type getElementType() {
+    return elementType;
+  }
+
+  /**
+   * @return the raw class of the elements of the collection, or null if the value is not a
+   *         collection
+   */
+  public Class<?> getElementClass() {
+    return elementClass;
+  }
+
+  /**
+   * @return if the elements of the collection are {@link DigesterEntity}s
+   */
+  public boolean isElementEntity() {
+    return elementEntity;
+  }
+
+  /**
+   * @return the source
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * @return the refType
+   */
+  public ReferenceTypeEnum getRefType() {
+    return refType;
+  }
+
+  /**
+   * @return the value
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * @return the rule instance, or null if there is no rule
+   * @deprecated the mapping can have a chain of rules, see {@link #getRuleChain()}
+   */
+  @Deprecated
+  public DigesterRule<?> getRule() {
+    if (rules != null && rules.getRules().get(0) instanceof DigesterRule) {
+      return (DigesterRule<?>) rules.getRules().get(0);
+    }
+    return null;
+  }
+
+  /**
+   * @return the rules, applied in order to the resolved value, or null if there are no rules
+   */
+  public RuleChain getRuleChain() {
+    return rules;
+  }
+
+  /**
+   * Compiles the XPath once, so it's not parsed again for every conversion
+   * @param refType Reference type
+   * @param value Reference value
+   * @return the compiled XPath, or null if it's not a HTML_XPATH reference or the expression is
+   *         not a valid XPath, and then it's used as a CSS selector
+   */
+  private static CompiledXPath compileXPath(ReferenceTypeEnum refType, String value) {
+    if (refType != ReferenceTypeEnum.HTML_XPATH) {
+      return null;
+    }
+
+    try {
+      return CompiledXPath.compile(value);
+    } catch (XPathExpressionException e) {
+      log.warn("Invalid XPath - " + value + ", using it as a CSS selector");
+      return null;
+    }
+  }
+
+  /**
+   * Compiles the CSS selector once, so it's not parsed again for every conversion
+   * @param refType Reference type
+   * @param value Reference value
+   * @param xpath Compiled XPath of the reference
+   * @return the compiled selector, or null if it's not a HTML_CSS or HTML_XPATH reference, the
+   *         selector is invalid or can not be compiled. HTML_XPATH values are compiled too, since
+   *         the mappings written before XPath was supported used CSS selectors, and many of them
+   *         (e.g. <code>p &gt; span</code>) are valid XPath as well
+   */
+  private static Evaluator compileCss(ReferenceTypeEnum refType, String value, CompiledXPath xpath) {
+    if (refType != ReferenceTypeEnum.HTML_CSS && refType != ReferenceTypeEnum.HTML_XPATH) {
+      return null;
+    }
+
+    try {
+      return CssSelectors.compile(value);
+    } catch (Selector.SelectorParseException | IllegalArgumentException e) {
+      if (refType == ReferenceTypeEnum.HTML_CSS || xpath == null) {
+        log.warn("Invalid CSS selector - " + value, e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Splits the dotted path once, so it's walked without parsing it again for every conversion
+   * @param refType Reference type
+   * @param value Reference value
+   * @return the compiled path, or null if it's not a NORMAL reference with more than one level
+   */
+  private static PropertyPath compilePropertyPath(ReferenceTypeEnum refType, String value) {
+    if (refType != ReferenceTypeEnum.NORMAL) {
+      return null;
+    }
+
+    PropertyPath path = PropertyPath.compile(value);
+    return path.isNested() ? path : null;
+  }
+
+  /**
+   * @return the format, or empty to use the default one
+   */
+  public String getFormat() {
+    return format;
+  }
+
+  /**
+   * @return the compiled JsonPath, or null if it's not a JSON_PATH reference or the path is invalid
+   */
+  public JsonPath getJsonPath() {
+    return jsonPath;
+  }
+
+  /**
+   * @return the compiled XPath, or null if it's not a HTML_XPATH reference or the expression is
+   *         not a valid XPath
+   */
+  public CompiledXPath getXPath() {
+    return xpath;
+  }
+
+  /**
+   * @return the compiled CSS selector, or null if it's not a CSS reference or the selector is
+   *         invalid. For HTML_XPATH references, it's the selector used when the value is not a
+   *         valid XPath, or when the XPath doesn't select any element
+   */
+  public Evaluator getCssEvaluator() {
+    return cssEvaluator;
+  }
+
+  /**
+   * @return the compiled dotted path, or null if it's not a NORMAL reference with more than one
+   *         level
+   */
+  public PropertyPath getPropertyPath() {
+    return propertyPath;
+  }
+
+  /**
+   * @return the normalization modes, in addition to the trim
+   */
+  public NormalizeModeEnum[] getNormalize() {
+    return normalize.clone();
+  }
+
+  /**
+   * @return the normalizer of the String values, compiled from the trim and normalization modes
+   */
+  public TextNormalizer getNormalizer() {
+    return normalizer;
+  }
+
+  /**
+   * @return the htmlText
+   */
+  public boolean isHtmlText() {
+    return htmlText;
+  }
+
+  /**
+   * @return the textNode
+   */
+  public int getTextNode() {
+    return textNode;
+  }
+
+  /**
+   * @return the trim
+   */
+  public boolean isTrim() {
+    return trim;
+  }
+
+  /**
+   * @return the attribute
+   */
+  public String getAttribute() {
+    return attribute;
+  }
+
+  /**
+   * @return the mandatory
+   */
+  public boolean isMandatory() {
+    return mandatory;
+  }
+
+  @Override
+  public String toString() {
+    return "FieldMapping [field=" + (field == null ? null : field.getName()) + ", source=" + source
+        + ", refType=" + refType + ", value=" + value + "]";
+  }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.brunocvcunha.digesteroids.input.InputSource;
+
+/**
+ * Iterator over the records of files, that maps each file to memory only when the previous one
+ * was consumed. A record is a whole file, or a line of it for JSON Lines, which is found by
+ * scanning the mapped bytes for the newlines and sliced without copying. Files that can not be
+ * mapped are reported to the error handler and skipped.
+ * <p>
+ * Lines are split on the byte '\n', so line-delimited files must use UTF-8 or another encoding
+ * where that byte is only used by the newline.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+class FileRecords implements Iterator<FileRecords.Record> {
+
+  private final Iterator<Path> files;
+  private final boolean lines;
+  private final Consumer<IngestError> errorHandler;
+
+  private Path file;
+  private ByteBuffer buffer;
+  private long line;
+  private Record next;
+
+  /**
+   * @param files Files to read
+   * @param lines If each line of the files is a record, otherwise each file is a single record
+   * @param errorHandler Handler of the files that can not be mapped
+   */
+  FileRecords(Iterator<Path> files, boolean lines, Consumer<IngestError> errorHandler) {
+    this.files = files;
+    this.lines = lines;
+    this.errorHandler = errorHandler;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null) {
+      if (buffer != null && buffer.hasRemaining()) {
+        next = nextLine();
+      } else if (files.hasNext()) {
+        file = files.next();
+        line = 0;
+        try {
+          buffer = InputSource.map(file).getBuffer();
+        } catch (IOException | RuntimeException e) {
+          buffer = null;
+          errorHandler.accept(new IngestError(file, 0, e));
+          continue;
+        }
+
+        if (!lines) {
+          next = new Record(file, 1, buffer);
+          buffer = null;
+        }
+      } else {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Record next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    Record record = next;
+    next = null;
+    return record;
+  }
+
+  /**
+   * @return the next line of the buffer, or null if it's blank
+   */
+  private Record nextLine() {
+    int start = buffer.position();
+    int limit = buffer.limit();
+    int end = start;
+    while (end < limit && buffer.get(end) != '\n') {
+      end++;
+    }
+    buffer.position(end < limit ? end + 1 : limit);
+    line++;
+
+    int contentEnd = end;
+    while (contentEnd > start && isBlank(buffer.get(contentEnd - 1))) {
+      contentEnd--;
+    }
+    if (contentEnd == start) {
+      return null;
+    }
+
+    ByteBuffer slice = buffer.duplicate();
+    slice.limit(contentEnd).position(start);
+    return new Record(file, line, slice.slice());
+  }
+
+  private static boolean isBlank(byte value) {
+    return value == ' ' || value == '\t' || value == '\r';
+  }
+
+  /**
+   * Bytes of a record, and where they came from
+   */
+  static final class Record {
+
+    private final Path file;
+    private final long number;
+    private final ByteBuffer bytes;
+
+    Record(Path file, long number, ByteBuffer bytes) {
+      this.file = file;
+      this.number = number;
+      this.bytes = bytes;
+    }
+
+    /**
+     * @return the file of the record
+     */
+    Path getFile() {
+      return file;
+    }
+
+    /**
+     * @return the number of the record in the file, starting in 1
+     */
+    long getNumber() {
+      return number;
+    }
+
+    /**
+     * @return the bytes of the record
+     */
+    ByteBuffer getBytes() {
+      return bytes;
+    }
+
+  }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.nio.file.Path;
+
+/**
+ * Failure to read a file, or to convert one of its records, reported by the file ingestion of
+ * {@link Digesteroids} instead of stopping the whole stream.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class IngestError {
+
+  private final Path file;
+  private final long record;
+  private final Throwable cause;
+
+  /**
+   * @param file File that failed
+   * @param record Number of the record in the file, starting in 1, or 0 if the whole file failed
+   * @param cause Cause of the failure
+   */
+  public IngestError(Path file, long record, Throwable cause) {
+    this.file = file;
+    this.record = record;
+    this.cause = cause;
+  }
+
+  /**
+   * @return the file that failed
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * @return the number of the record in the file (the line, for JSON Lines), starting in 1, or 0
+   *         if the whole file failed
+   */
+  public long getRecord() {
+    return record;
+  }
+
+  /**
+   * @return true if the whole file failed, and none of its records were read
+   */
+  public boolean isFileError() {
+    return record == 0;
+  }
+
+  /**
+   * @return the cause of the failure
+   */
+  public Throwable getCause() {
+    return cause;
+  }
+
+  @Override
+  public String toString() {
+    return (isFileError() ? file.toString() : file + ":" + record) + ": " + cause;
+  }
+
+}
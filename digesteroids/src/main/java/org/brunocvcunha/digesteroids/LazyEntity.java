@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Handler of the proxies of the lazy entities (the interfaces with mapped getters). It keeps the
+ * context with the parsed input, and resolves each mapping in the first call of its getter,
+ * memoizing the value for the next calls. Getters that are never called are never resolved, and
+ * so the mandatory mappings are only checked when they are called.
+ * <p>
+ * The default methods of the interface are invoked as they are, so they can be built on top of
+ * the mapped getters.
+ * <p>
+ * The proxies are safe for concurrent use: the resolution is synchronized on the
+ * {@link DigestContext}, which is not thread-safe and is shared with the nested lazy entities.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+class LazyEntity implements InvocationHandler {
+
+  private static final Object NULL = new Object();
+
+  private static final ConcurrentMap<Method, MethodHandle> defaultMethods = new ConcurrentHashMap<>();
+
+  private final Digesteroids digesteroids;
+  private final MappingPlan<?> plan;
+  private final DigestContext context;
+  private final Map<Method, Object> values = new HashMap<>();
+
+  private LazyEntity(Digesteroids digesteroids, MappingPlan<?> plan, DigestContext context) {
+    this.digesteroids = digesteroids;
+    this.plan = plan;
+    this.context = context;
+  }
+
+  /**
+   * @param digesteroids Instance used to resolve the mappings
+   * @param plan Lazy plan of the target interface
+   * @param context Context with the original data
+   * @return the proxy implementing the target interface
+   * @param <T> Target type
+   */
+  static <T> T create(Digesteroids digesteroids, MappingPlan<T> plan, DigestContext context) {
+    Class<T> targetInterface = plan.getTargetClass();
+    return targetInterface.cast(Proxy.newProxyInstance(targetInterface.getClassLoader(),
+        new Class<?>[] {targetInterface}, new LazyEntity(digesteroids, plan, context)));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    FieldMapping mapping = plan.getGetters().get(method);
+    if (mapping != null) {
+      return resolve(method, mapping);
+    }
+
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return plan.getTargetClass().getName() + "$Lazy@" + Integer.toHexString(System.identityHashCode(proxy));
+      }
+    }
+
+    if (method.isDefault()) {
+      MethodHandle handle = defaultMethods.get(method);
+      if (handle == null) {
+        handle = defaultMethods.computeIfAbsent(method, LazyEntity::defaultMethod);
+      }
+      return handle.bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+    }
+
+    throw new UnsupportedOperationException("Method " + method.getName() + " of "
+        + plan.getTargetClass() + " has no mapping for the source " + plan.getSource());
+  }
+
+  private Object resolve(Method method, FieldMapping mapping) {
+    Object value;
+    synchronized (context) {
+      value = values.get(method);
+      if (value == null) {
+        try {
+          value = digesteroids.resolveFieldValue(context, mapping);
+        } catch (InstantiationException | IllegalAccessException e) {
+          throw new DigesteroidsException("Could not resolve " + method.getName() + " of " + plan.getTargetClass(), e);
+        }
+
+        values.put(method, value == null ? NULL : value);
+      }
+    }
+
+    if (value == NULL || value == null) {
+      // primitives can't be null, so their default value is returned
+      return method.getReturnType().isPrimitive() ? Array.get(Array.newInstance(method.getReturnType(), 1), 0) : null;
+    }
+    return value;
+  }
+
+  /**
+   * @param method Default method of an interface
+   * @return the handle that invokes the method itself, instead of dispatching to the proxy
+   */
+  private static MethodHandle defaultMethod(Method method) {
+    Class<?> declaring = method.getDeclaringClass();
+    try {
+      MethodHandles.Lookup lookup;
+      try {
+        // Java 9+
+        Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+        lookup = (MethodHandles.Lookup) privateLookupIn.invoke(null, declaring, MethodHandles.lookup());
+      } catch (NoSuchMethodException e) {
+        // Java 8 only gives private access to the interface through the internal constructor
+        Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+        constructor.setAccessible(true);
+        lookup = constructor.newInstance(declaring, MethodHandles.Lookup.PRIVATE);
+      }
+      return lookup.unreflectSpecial(method, declaring);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new DigesteroidsException("Could not invoke the default method " + method.getName() + " of " + declaring, e);
+    }
+  }
+
+}
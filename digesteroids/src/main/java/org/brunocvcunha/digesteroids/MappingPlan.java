@@ -0,0 +1,388 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.access.AccessorStrategy;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.html.SelectorGroup;
+
+/**
+ * Mapping plan for a target class and a source. It is built once, and holds all the
+ * {@link FieldMapping}s that need to be resolved to convert an object.
+ * <p>
+ * When the target is an interface, the mappings are read from its getters instead, and the
+ * objects are lazy proxies that resolve each getter in its first call.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ * @param <T> Target type
+ */
+public class MappingPlan<T> {
+
+  private static Logger log = Logger.getLogger(MappingPlan.class);
+
+  private static final Set<String> WHOLE = Collections.emptySet();
+
+  /**
+   * Maximum number of projections cached for each plan, the other ones are built on every call
+   */
+  private static final int MAX_CACHED_PROJECTIONS = 64;
+
+  private final Class<T> targetClass;
+  private final String source;
+  private final Supplier<T> constructor;
+  private final List<FieldMapping> fields;
+  private final SelectorGroup selectorGroup;
+  private final Map<Method, FieldMapping> getters;
+  private final ConcurrentMap<Set<String>, MappingPlan<T>> projections = new ConcurrentHashMap<>();
+
+  /**
+   * @param targetClass The target class
+   * @param source The source name
+   * @param constructor Supplier of new instances of the target class
+   * @param fields The mapped fields
+   */
+  public MappingPlan(Class<T> targetClass, String source, Supplier<T> constructor,
+      List<FieldMapping> fields) {
+    this(targetClass, source, constructor, fields, Collections.emptyMap());
+  }
+
+  /**
+   * @param targetClass The target class
+   * @param source The source name
+   * @param constructor Supplier of new instances of the target class
+   * @param fields The mapped fields
+   * @param getters The mapped getters of the target interface, by method
+   */
+  private MappingPlan(Class<T> targetClass, String source, Supplier<T> constructor,
+      List<FieldMapping> fields, Map<Method, FieldMapping> getters) {
+    this.targetClass = targetClass;
+    this.source = source;
+    this.constructor = constructor;
+    this.fields = Collections.unmodifiableList(fields);
+    this.selectorGroup = getters.isEmpty() ? SelectorGroup.compile(fields) : null;
+    this.getters = Collections.unmodifiableMap(getters);
+  }
+
+  /**
+   * Build the plan for the given class, introspecting the {@link DigesterMapping}s that match the
+   * source
+   * @param targetClass The target class
+   * @param source The source name
+   * @param accessors Strategy used to create the instances and write the fields
+   * @return Plan built
+   * @throws InstantiationException Can not create instance of a rule
+   * @throws IllegalAccessException Access violation
+   * @param <T> Target type
+   */
+  public static <T> MappingPlan<T> build(Class<T> targetClass, String source,
+      AccessorStrategy accessors) throws InstantiationException, IllegalAccessException {
+
+    if (targetClass.isInterface()) {
+      return buildLazy(targetClass, source);
+    }
+
+    DigesterEntity entity = targetClass.getAnnotation(DigesterEntity.class);
+    boolean fieldAccess = entity != null && entity.fieldAccess();
+
+    List<FieldMapping> fields = new ArrayList<>();
+
+    for (Field entryField : targetClass.getDeclaredFields()) {
+      DigesterMapping reference = findReference(entryField, source);
+      if (reference == null) {
+        continue;
+      }
+
+      entryField.setAccessible(true);
+
+      Method writerMethod = null;
+      if (!fieldAccess) {
+        try {
+          PropertyDescriptor descriptor = new PropertyDescriptor(entryField.getName(), targetClass);
+          writerMethod = descriptor.getWriteMethod();
+        } catch (Exception e) {
+          log.warn("Exception introspecting field " + entryField.getName() + " of " + targetClass
+              + ", it will be ignored: ", e);
+          continue;
+        }
+      }
+
+      try {
+        if (fieldAccess) {
+          fields.add(new FieldMapping(reference, entryField, null,
+              accessors.fieldWriter(entryField), entryField.getGenericType()));
+        } else {
+          Type valueType = writerMethod.getGenericParameterTypes()[0];
+          fields.add(new FieldMapping(reference, entryField, writerMethod,
+              accessors.setter(writerMethod), valueType));
+        }
+      } catch (IllegalArgumentException e) {
+        // only the field with the broken rule is lost, not the whole plan
+        log.warn("Exception creating the rules of field " + entryField.getName() + " of "
+            + targetClass + ", it will be ignored: ", e);
+      }
+    }
+
+    return new MappingPlan<>(targetClass, source, accessors.constructor(targetClass), fields);
+  }
+
+  /**
+   * Build the plan for the given interface, introspecting the {@link DigesterMapping}s of its
+   * getters that match the source
+   * @param targetInterface The target interface
+   * @param source The source name
+   * @return Plan built
+   * @throws InstantiationException Can not create instance of a rule
+   * @throws IllegalAccessException Access violation
+   * @param <T> Target type
+   */
+  private static <T> MappingPlan<T> buildLazy(Class<T> targetInterface, String source)
+      throws InstantiationException, IllegalAccessException {
+
+    List<FieldMapping> fields = new ArrayList<>();
+    Map<Method, FieldMapping> getters = new HashMap<>();
+
+    for (Method getter : targetInterface.getMethods()) {
+      DigesterMapping reference = findReference(getter, source);
+      if (reference == null) {
+        continue;
+      }
+
+      if (!Modifier.isAbstract(getter.getModifiers()) || getter.getParameterCount() > 0
+          || getter.getReturnType() == void.class) {
+        log.warn("Method " + getter.getName() + " of " + targetInterface
+            + " is not an abstract getter, it will be ignored");
+        continue;
+      }
+
+      FieldMapping mapping;
+      try {
+        mapping = new FieldMapping(reference, getter.getGenericReturnType());
+      } catch (IllegalArgumentException e) {
+        log.warn("Exception creating the rules of method " + getter.getName() + " of "
+            + targetInterface + ", it will be ignored: ", e);
+        continue;
+      }
+      fields.add(mapping);
+      getters.put(getter, mapping);
+    }
+
+    Supplier<T> constructor = () -> {
+      throw new IllegalStateException(new InstantiationException(targetInterface + " is an interface"));
+    };
+    return new MappingPlan<>(targetInterface, source, constructor, fields, getters);
+  }
+
+  /**
+   * @param entryElement The field or method to look
+   * @param source The source name
+   * @return The mapping for the source, or null if there is none
+   */
+  protected static DigesterMapping findReference(AnnotatedElement entryElement, String source) {
+    try {
+      DigesterMapping[] references = entryElement.getAnnotationsByType(DigesterMapping.class);
+
+      for (DigesterMapping candidate : references) {
+        if (candidate.source().equalsIgnoreCase(source)) {
+          return candidate;
+        }
+      }
+    } catch (Exception e) {
+      // it's ok
+    }
+
+    return null;
+  }
+
+  /**
+   * @return the target class
+   */
+  public Class<T> getTargetClass() {
+    return targetClass;
+  }
+
+  /**
+   * @return the source
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * @return a new instance of the target class
+   * @throws InstantiationException Can not create instance of target class
+   * @throws IllegalAccessException Access violation
+   */
+  public T newInstance() throws InstantiationException, IllegalAccessException {
+    try {
+      return constructor.get();
+    } catch (IllegalStateException e) {
+      if (e.getCause() instanceof InstantiationException) {
+        throw (InstantiationException) e.getCause();
+      }
+      if (e.getCause() instanceof IllegalAccessException) {
+        throw (IllegalAccessException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return the fields
+   */
+  public List<FieldMapping> getFields() {
+    return fields;
+  }
+
+  /**
+   * Get the plan that only resolves the given fields, building it only in the first time. Names
+   * can have dots to select the fields of the nested entities (e.g. "address.city"), and a name
+   * without them selects the whole entity. The nested names are validated against the plans of
+   * the nested entities, which are projected as well. Lazy plans are not projected, since they
+   * already resolve only the getters that are called.
+   * <p>
+   * Only the first {@value #MAX_CACHED_PROJECTIONS} distinct sets of names are cached, so sets
+   * built dynamically don't grow the plan without limit, but they are projected again on every
+   * call. Projections should come from a fixed set of field selections.
+   * @param names Names of the fields to resolve
+   * @param digesteroids Digesteroids that holds the plans of the nested entities
+   * @return the projected plan
+   * @throws InstantiationException Can not create instance of a rule of a nested entity
+   * @throws IllegalAccessException Access violation
+   * @throws IllegalArgumentException if a name is not of a mapped field, or has dots but the
+   *         field is not an entity
+   */
+  public MappingPlan<T> project(Set<String> names, Digesteroids digesteroids)
+      throws InstantiationException, IllegalAccessException {
+    if (isLazy()) {
+      return this;
+    }
+
+    MappingPlan<T> projected = projections.get(names);
+    if (projected == null) {
+      // building twice in a race is harmless, the projections are equivalent
+      Set<String> key = Collections.unmodifiableSet(new HashSet<>(names));
+      projected = buildProjection(key, digesteroids);
+      if (projections.size() < MAX_CACHED_PROJECTIONS) {
+        MappingPlan<T> existing = projections.putIfAbsent(key, projected);
+        if (existing != null) {
+          projected = existing;
+        }
+      }
+    }
+    return projected;
+  }
+
+  private MappingPlan<T> buildProjection(Set<String> names, Digesteroids digesteroids)
+      throws InstantiationException, IllegalAccessException {
+    // nested names by field, an empty set selects the whole field
+    Map<String, Set<String>> nested = new LinkedHashMap<>();
+    for (String name : names) {
+      int dot = name.indexOf('.');
+      if (dot < 0) {
+        nested.put(name, WHOLE);
+        continue;
+      }
+
+      Set<String> fieldNames = nested.computeIfAbsent(name.substring(0, dot), key -> new HashSet<>());
+      if (fieldNames != WHOLE) {
+        fieldNames.add(name.substring(dot + 1));
+      }
+    }
+
+    List<FieldMapping> projectedFields = new ArrayList<>();
+    for (FieldMapping mapping : fields) {
+      Set<String> fieldNames = nested.remove(mapping.getField().getName());
+      if (fieldNames == WHOLE) {
+        projectedFields.add(mapping);
+      } else if (fieldNames != null) {
+        validateNested(mapping, fieldNames, digesteroids);
+        projectedFields.add(mapping.withProjection(Collections.unmodifiableSet(fieldNames)));
+      }
+    }
+
+    if (!nested.isEmpty()) {
+      throw new IllegalArgumentException("Fields not mapped in " + targetClass + " for the source "
+          + source + ": " + nested.keySet());
+    }
+
+    return new MappingPlan<>(targetClass, source, constructor, projectedFields);
+  }
+
+  /**
+   * Validate the names selected in a nested entity, projecting its plan
+   * @param mapping The mapping of the nested entity, or of a collection of them
+   * @param fieldNames Names selected in the nested entity
+   * @param digesteroids Digesteroids that holds the plan of the nested entity
+   * @throws InstantiationException Can not create instance of a rule of the nested entity
+   * @throws IllegalAccessException Access violation
+   * @throws IllegalArgumentException if the field is not an entity, or a name is not mapped in it
+   */
+  private void validateNested(FieldMapping mapping, Set<String> fieldNames,
+      Digesteroids digesteroids) throws InstantiationException, IllegalAccessException {
+    Class<?> nestedClass = mapping.isCollection() ? mapping.getElementClass() : mapping.getValueClass();
+    boolean entity = mapping.isCollection() ? mapping.isElementEntity() : mapping.isEntity();
+
+    if (!entity && mapping.getRefType() != ReferenceTypeEnum.PASS_THROUGH) {
+      throw new IllegalArgumentException("Field " + mapping.getField().getName() + " of "
+          + targetClass + " is not an entity, its fields can not be selected: " + fieldNames);
+    }
+
+    digesteroids.getPlan(nestedClass, mapping.getSource()).project(fieldNames, digesteroids);
+  }
+
+  /**
+   * @return if the target is an interface, whose objects are lazy proxies
+   */
+  public boolean isLazy() {
+    return targetClass.isInterface();
+  }
+
+  /**
+   * @return the mapped getters of the target interface, by method, empty if it's not lazy
+   */
+  public Map<Method, FieldMapping> getGetters() {
+    return getters;
+  }
+
+  /**
+   * @return the CSS selectors of the fields, to select them in a single walk of the HTML, or null
+   *         if there are less than two or the plan is lazy
+   */
+  public SelectorGroup getSelectorGroup() {
+    return selectorGroup;
+  }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+/**
+ * Normalization applied to the String values of a mapping, in addition to the
+ * {@link org.brunocvcunha.digesteroids.annotation.DigesterMapping#trim()}
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public enum NormalizeModeEnum {
+
+    /**
+     * Replaces the non-breaking spaces and the whitespace characters (tab, new lines) with spaces
+     */
+    WHITESPACE,
+
+    /**
+     * Removes the spaces and control characters from the start and the end
+     */
+    TRIM,
+
+    /**
+     * Replaces each sequence of whitespace characters with a single space
+     */
+    COLLAPSE_WHITESPACE,
+
+    /**
+     * Removes the control characters that are not whitespace
+     */
+    STRIP_CONTROL,
+
+    /**
+     * Applies the Unicode NFC normalization
+     */
+    NFC;
+
+}
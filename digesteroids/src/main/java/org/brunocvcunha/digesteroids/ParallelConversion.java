@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Iterator that converts the inputs in an executor, keeping at most a bounded number of
+ * conversions in flight. Inputs are only pulled from the source when there is room in the window,
+ * so very large (or unbounded) inputs don't pile up in memory.
+ * <p>
+ * When a conversion fails, or the iterator is cancelled, the conversions still in flight are
+ * cancelled, and no more inputs are pulled.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ * @param <T> Target type
+ */
+class ParallelConversion<T> implements Iterator<T> {
+
+  private final Iterator<?> inputs;
+  private final Conversion<T> conversion;
+  private final Type targetType;
+  private final Executor executor;
+  private final int maxInFlight;
+
+  /**
+   * Futures in submission order, used when the output is ordered
+   */
+  private final Deque<Future<T>> window;
+
+  /**
+   * Futures in completion order, used when the output is unordered
+   */
+  private final CompletionService<T> completion;
+
+  /**
+   * Futures submitted and not yet consumed, used when the output is unordered
+   */
+  private final Set<Future<T>> submitted;
+  private int inFlight;
+  private boolean cancelled;
+
+  /**
+   * @param digesteroids Instance used to convert
+   * @param source Source name
+   * @param inputs Inputs to convert
+   * @param targetType Target type
+   * @param executor Executor to run the conversions
+   * @param maxInFlight Maximum number of conversions submitted and not yet consumed
+   * @param ordered If the results should follow the order of the inputs
+   */
+  ParallelConversion(Digesteroids digesteroids, String source, Iterator<?> inputs,
+      Type targetType, Executor executor, int maxInFlight, boolean ordered) {
+    this(inputs, input -> digesteroids.convertObjectToType(source, input, targetType), targetType,
+        executor, maxInFlight, ordered);
+  }
+
+  /**
+   * @param inputs Inputs to convert
+   * @param conversion Conversion of each input, run in the executor
+   * @param targetType Target type, used in the error messages
+   * @param executor Executor to run the conversions
+   * @param maxInFlight Maximum number of conversions submitted and not yet consumed
+   * @param ordered If the results should follow the order of the inputs
+   */
+  ParallelConversion(Iterator<?> inputs, Conversion<T> conversion, Type targetType,
+      Executor executor, int maxInFlight, boolean ordered) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    }
+
+    this.inputs = inputs;
+    this.conversion = conversion;
+    this.targetType = targetType;
+    this.executor = executor;
+    this.maxInFlight = maxInFlight;
+    this.window = ordered ? new ArrayDeque<>(maxInFlight) : null;
+    this.completion = ordered ? null : new ExecutorCompletionService<>(executor);
+    this.submitted = ordered ? null : new HashSet<>();
+  }
+
+  @Override
+  public boolean hasNext() {
+    fill();
+    return inFlight > 0;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    try {
+      Future<T> future;
+      if (window != null) {
+        future = window.poll();
+      } else {
+        future = completion.take();
+        submitted.remove(future);
+      }
+      inFlight--;
+      return future.get();
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      throw new DigesteroidsException("Interrupted while converting to " + targetType, e);
+    } catch (ExecutionException e) {
+      cancel();
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new DigesteroidsException("Could not convert to " + targetType, e.getCause());
+    }
+  }
+
+  /**
+   * Cancel the conversions in flight, interrupting the ones that are running, and stop pulling
+   * inputs. Called when a conversion fails and when the stream over this iterator is closed.
+   */
+  void cancel() {
+    cancelled = true;
+    Iterable<Future<T>> pending = window != null ? window : submitted;
+    for (Future<T> future : pending) {
+      future.cancel(true);
+    }
+    if (window != null) {
+      window.clear();
+    } else {
+      submitted.clear();
+    }
+    inFlight = 0;
+  }
+
+  private void fill() {
+    while (!cancelled && inFlight < maxInFlight && inputs.hasNext()) {
+      Object input = inputs.next();
+
+      if (window != null) {
+        FutureTask<T> task = new FutureTask<>(() -> conversion.convert(input));
+        executor.execute(task);
+        window.add(task);
+      } else {
+        submitted.add(completion.submit(() -> conversion.convert(input)));
+      }
+      inFlight++;
+    }
+  }
+
+  /**
+   * Conversion of a single input
+   * @param <T> Target type
+   */
+  @FunctionalInterface
+  interface Conversion<T> {
+
+    /**
+     * @param input Input to convert
+     * @return the converted object
+     * @throws Exception if the input can not be converted
+     */
+    T convert(Object input) throws Exception;
+
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+import java.text.Normalizer;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Normalizes the String values of a mapping in a single pass over the characters, with the
+ * {@link NormalizeModeEnum}s compiled once per mapping.
+ * <p>
+ * Instances are immutable and safe for concurrent use.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class TextNormalizer {
+
+  /**
+   * Normalizer that does not change the values
+   */
+  public static final TextNormalizer NONE = new TextNormalizer(EnumSet.noneOf(NormalizeModeEnum.class));
+
+  private final boolean spaces;
+  private final boolean trim;
+  private final boolean collapse;
+  private final boolean stripControl;
+  private final boolean nfc;
+
+  private TextNormalizer(Set<NormalizeModeEnum> modes) {
+    this.collapse = modes.contains(NormalizeModeEnum.COLLAPSE_WHITESPACE);
+    this.spaces = collapse || modes.contains(NormalizeModeEnum.WHITESPACE);
+    this.trim = modes.contains(NormalizeModeEnum.TRIM);
+    this.stripControl = modes.contains(NormalizeModeEnum.STRIP_CONTROL);
+    this.nfc = modes.contains(NormalizeModeEnum.NFC);
+  }
+
+  /**
+   * @param trim If the values are trimmed, replacing the whitespace characters with spaces
+   * @param modes Additional normalization modes
+   * @return the normalizer
+   */
+  public static TextNormalizer compile(boolean trim, NormalizeModeEnum... modes) {
+    Set<NormalizeModeEnum> set = EnumSet.noneOf(NormalizeModeEnum.class);
+    if (trim) {
+      set.add(NormalizeModeEnum.WHITESPACE);
+      set.add(NormalizeModeEnum.TRIM);
+    }
+    if (modes != null) {
+      for (NormalizeModeEnum mode : modes) {
+        set.add(mode);
+      }
+    }
+
+    if (set.isEmpty()) {
+      return NONE;
+    }
+    return new TextNormalizer(set);
+  }
+
+  /**
+   * @return if the normalizer does not change the values
+   */
+  public boolean isNone() {
+    return !spaces && !trim && !stripControl && !nfc;
+  }
+
+  /**
+   * @param value Value to normalize
+   * @return the normalized value, or the same instance if nothing changed
+   */
+  public String normalize(String value) {
+    if (isNone()) {
+      return value;
+    }
+
+    int length = value.length();
+    char[] chars = new char[length];
+    int count = 0;
+    int end = 0;
+    boolean changed = false;
+    boolean lastSpace = false;
+    boolean ascii = true;
+
+    for (int i = 0; i < length; i++) {
+      char original = value.charAt(i);
+      char c = original;
+
+      if (spaces && isSpace(c)) {
+        c = ' ';
+      } else if (stripControl && Character.isISOControl(c) && !isSpace(c)) {
+        changed = true;
+        continue;
+      }
+
+      if (collapse && c == ' ') {
+        if (lastSpace) {
+          changed = true;
+          continue;
+        }
+        lastSpace = true;
+      } else {
+        lastSpace = false;
+      }
+
+      if (trim && count == 0 && c <= ' ') {
+        changed = true;
+        continue;
+      }
+
+      changed |= c != original;
+      ascii &= c < 0x80;
+      chars[count++] = c;
+      if (!trim || c > ' ') {
+        end = count;
+      }
+    }
+
+    String result = value;
+    if (changed || end != length) {
+      result = new String(chars, 0, end);
+    }
+
+    if (nfc && !ascii) {
+      result = Normalizer.normalize(result, Normalizer.Form.NFC);
+    }
+    return result;
+  }
+
+  /**
+   * @param c Character to check
+   * @return if the character is a non-breaking space or one of the whitespace characters of the
+   *         <code>\s</code> regular expression class
+   */
+  private static boolean isSpace(char c) {
+    switch (c) {
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\u000B':
+      case '\f':
+      case '\r':
+      case '\u00A0':
+        return true;
+      default:
+        return false;
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids;
+
+/**
+ * Digester for a single entity type, usually generated at compile time by the
+ * digesteroids-processor annotation processor as {@code <Entity>Digester}, in the same package of
+ * the entity. When one is available, {@link Digesteroids} uses it instead of the reflective
+ * {@link MappingPlan}.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ * @param <T> Entity type
+ */
+public interface TypeDigester<T> {
+
+  /**
+   * Suffix appended to the entity name to find the generated digester
+   */
+  String SUFFIX = "Digester";
+
+  /**
+   * @param source Source name
+   * @return if this digester has the mappings for the source
+   */
+  boolean supports(String source);
+
+  /**
+   * Convert the data held by the context to the entity
+   * @param digesteroids The digesteroids instance, used to resolve the values
+   * @param source Source name
+   * @param context Context with the original data
+   * @return Converted object
+   * @throws InstantiationException Can not create instance of nested objects
+   * @throws IllegalAccessException Access violation
+   */
+  T digest(Digesteroids digesteroids, String source, DigestContext context)
+      throws InstantiationException, IllegalAccessException;
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Strategy used to create the instances and write the values of the target objects. The returned
+ * accessors are built once per class or member and reused for every conversion, so they must be
+ * safe for concurrent use.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public interface AccessorStrategy {
+
+  /**
+   * Creates a supplier of new instances, using the no-args constructor
+   * @param clazz Class to instantiate
+   * @return Supplier of instances
+   * @param <T> Type of the instances
+   */
+  <T> Supplier<T> constructor(Class<T> clazz);
+
+  /**
+   * Creates a writer that calls the setter method
+   * @param writeMethod Setter method
+   * @return Writer, receiving the target and the value
+   */
+  BiConsumer<Object, Object> setter(Method writeMethod);
+
+  /**
+   * Creates a writer that sets the field directly, without going through a setter
+   * @param field Field to write
+   * @return Writer, receiving the target and the value
+   */
+  BiConsumer<Object, Object> fieldWriter(Field field);
+
+  /**
+   * Creates a reader that calls the getter method. Uses reflection, unless overridden
+   * @param readMethod Getter method
+   * @return Reader, receiving the source and returning the value
+   */
+  default Function<Object, Object> getter(Method readMethod) {
+    readMethod.setAccessible(true);
+
+    return source -> {
+      try {
+        return readMethod.invoke(source);
+      } catch (InvocationTargetException e) {
+        throw ReflectionAccessorStrategy.rethrow(e.getCause());
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Could not invoke " + readMethod, e);
+      }
+    };
+  }
+
+  /**
+   * Creates a reader that gets the field directly, without going through a getter. Uses
+   * reflection, unless overridden
+   * @param field Field to read
+   * @return Reader, receiving the source and returning the value
+   */
+  default Function<Object, Object> fieldReader(Field field) {
+    field.setAccessible(true);
+
+    return source -> {
+      try {
+        return field.get(source);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Could not read field " + field, e);
+      }
+    };
+  }
+
+}
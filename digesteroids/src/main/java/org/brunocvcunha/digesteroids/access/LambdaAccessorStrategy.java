@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Accessor strategy that generates direct {@link BiConsumer} setters and {@link Supplier}
+ * constructors through {@link LambdaMetafactory}, so the JIT can inline the calls. When a member
+ * can not be linked (e.g. it is not public), falls back to reflection.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class LambdaAccessorStrategy extends ReflectionAccessorStrategy {
+
+  private static Logger log = Logger.getLogger(LambdaAccessorStrategy.class);
+
+  private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> Supplier<T> constructor(Class<T> clazz) {
+    if (!isVisible(clazz)) {
+      return super.constructor(clazz);
+    }
+
+    try {
+      MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+
+      CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+          MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), constructor,
+          MethodType.methodType(clazz));
+
+      return (Supplier<T>) site.getTarget().invoke();
+    } catch (Throwable e) {
+      log.debug("Could not link constructor of " + clazz + ", using reflection", e);
+      return super.constructor(clazz);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public BiConsumer<Object, Object> setter(Method writeMethod) {
+    if (!isVisible(writeMethod.getDeclaringClass()) || !isVisible(writeMethod.getParameterTypes()[0])) {
+      return super.setter(writeMethod);
+    }
+
+    try {
+      MethodHandle setter = lookup.unreflect(writeMethod);
+      Class<?> valueType = MethodType.methodType(writeMethod.getParameterTypes()[0]).wrap().returnType();
+
+      CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class), setter,
+          MethodType.methodType(void.class, writeMethod.getDeclaringClass(), valueType));
+
+      return (BiConsumer<Object, Object>) site.getTarget().invoke();
+    } catch (Throwable e) {
+      log.debug("Could not link setter " + writeMethod + ", using reflection", e);
+      return super.setter(writeMethod);
+    }
+  }
+
+  @Override
+  public BiConsumer<Object, Object> fieldWriter(Field field) {
+    try {
+      field.setAccessible(true);
+      MethodHandle writer = lookup.unreflectSetter(field)
+          .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+      return (target, value) -> {
+        try {
+          writer.invokeExact(target, value);
+        } catch (Throwable e) {
+          throw rethrow(e);
+        }
+      };
+    } catch (Throwable e) {
+      log.debug("Could not link field " + field + ", using reflection", e);
+      return super.fieldWriter(field);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Function<Object, Object> getter(Method readMethod) {
+    if (!isVisible(readMethod.getDeclaringClass()) || !isVisible(readMethod.getReturnType())) {
+      return super.getter(readMethod);
+    }
+
+    try {
+      MethodHandle getter = lookup.unreflect(readMethod);
+      Class<?> valueType = MethodType.methodType(readMethod.getReturnType()).wrap().returnType();
+
+      CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+          MethodType.methodType(Function.class),
+          MethodType.methodType(Object.class, Object.class), getter,
+          MethodType.methodType(valueType, readMethod.getDeclaringClass()));
+
+      return (Function<Object, Object>) site.getTarget().invoke();
+    } catch (Throwable e) {
+      log.debug("Could not link getter " + readMethod + ", using reflection", e);
+      return super.getter(readMethod);
+    }
+  }
+
+  @Override
+  public Function<Object, Object> fieldReader(Field field) {
+    try {
+      field.setAccessible(true);
+      MethodHandle reader = lookup.unreflectGetter(field)
+          .asType(MethodType.methodType(Object.class, Object.class));
+
+      return source -> {
+        try {
+          return reader.invokeExact(source);
+        } catch (Throwable e) {
+          throw rethrow(e);
+        }
+      };
+    } catch (Throwable e) {
+      log.debug("Could not link field " + field + ", using reflection", e);
+      return super.fieldReader(field);
+    }
+  }
+
+  /**
+   * The generated lambdas are linked against the classes through the class loader of this
+   * library, so classes loaded by unrelated class loaders have to use reflection.
+   * @param clazz Class to check
+   * @return if the class can be resolved from this class loader
+   */
+  protected boolean isVisible(Class<?> clazz) {
+    if (clazz.isPrimitive() || clazz.getClassLoader() == null) {
+      return true;
+    }
+
+    try {
+      return Class.forName(clazz.getName(), false, LambdaAccessorStrategy.class.getClassLoader()) == clazz;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+}
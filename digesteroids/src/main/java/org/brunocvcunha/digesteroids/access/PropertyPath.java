@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dotted property path (e.g. <code>address.city.name</code>), split once and walked in place
+ * over maps, plain objects, collections and arrays. A collection or array found in the middle of
+ * the path is expanded, and the remaining path is read from each of its elements.
+ *
+ * <p>Instances are immutable and safe for concurrent use.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class PropertyPath {
+
+  private final String path;
+  private final String[] segments;
+
+  private PropertyPath(String path, String[] segments) {
+    this.path = path;
+    this.segments = segments;
+  }
+
+  /**
+   * @param path Dotted path
+   * @return the compiled path
+   */
+  public static PropertyPath compile(String path) {
+    List<String> segments = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i <= path.length(); i++) {
+      if (i == path.length() || path.charAt(i) == '.') {
+        if (i > start) {
+          segments.add(path.substring(start, i));
+        }
+        start = i + 1;
+      }
+    }
+    return new PropertyPath(path, segments.toArray(new String[segments.size()]));
+  }
+
+  /**
+   * @return if the path has more than one level
+   */
+  public boolean isNested() {
+    return segments.length > 1;
+  }
+
+  /**
+   * @param root Object to read from
+   * @param readers Readers of the properties of plain objects
+   * @return the first value found in the path, or null if there is none
+   */
+  public Object read(Object root, PropertyReaders readers) {
+    return find(root, 0, readers);
+  }
+
+  /**
+   * @param root Object to read from
+   * @param readers Readers of the properties of plain objects
+   * @return all the values found in the path, following every element of the collections
+   */
+  public List<Object> readAll(Object root, PropertyReaders readers) {
+    if (root == null) {
+      return Collections.emptyList();
+    }
+
+    List<Object> values = new ArrayList<>();
+    collect(root, 0, readers, values);
+    return values;
+  }
+
+  private Object find(Object node, int level, PropertyReaders readers) {
+    if (level == segments.length) {
+      return node;
+    }
+
+    if (node instanceof Iterable) {
+      for (Object element : (Iterable<?>) node) {
+        Object found = element == null ? null : find(element, level, readers);
+        if (found != null) {
+          return found;
+        }
+      }
+      return null;
+    }
+
+    if (node.getClass().isArray()) {
+      for (int i = 0, length = Array.getLength(node); i < length; i++) {
+        Object element = Array.get(node, i);
+        Object found = element == null ? null : find(element, level, readers);
+        if (found != null) {
+          return found;
+        }
+      }
+      return null;
+    }
+
+    Object next = property(node, segments[level], readers);
+    return next == null ? null : find(next, level + 1, readers);
+  }
+
+  private void collect(Object node, int level, PropertyReaders readers, List<Object> values) {
+    if (level == segments.length) {
+      values.add(node);
+      return;
+    }
+
+    if (node instanceof Iterable) {
+      for (Object element : (Iterable<?>) node) {
+        if (element != null) {
+          collect(element, level, readers, values);
+        }
+      }
+      return;
+    }
+
+    if (node.getClass().isArray()) {
+      for (int i = 0, length = Array.getLength(node); i < length; i++) {
+        Object element = Array.get(node, i);
+        if (element != null) {
+          collect(element, level, readers, values);
+        }
+      }
+      return;
+    }
+
+    Object next = property(node, segments[level], readers);
+    if (next != null) {
+      collect(next, level + 1, readers, values);
+    }
+  }
+
+  private static Object property(Object node, String name, PropertyReaders readers) {
+    if (node instanceof Map) {
+      return ((Map<?, ?>) node).get(name);
+    }
+    return readers.read(node, name);
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import com.google.gson.JsonElement;
+import com.google.gson.annotations.SerializedName;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Reads the properties of plain objects in place, with readers created by the
+ * {@link AccessorStrategy} once per class and property name. A property is found by the same name
+ * it has when the object is serialized to JSON: the field name, or its {@link SerializedName}.
+ * When there is no such field, a public getter of the property is used. Static and transient
+ * fields are not properties, and neither are the classes of the JDK.
+ *
+ * <p>Instances are safe for concurrent use.
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class PropertyReaders {
+
+  private static Logger log = Logger.getLogger(PropertyReaders.class);
+
+  private final AccessorStrategy accessors;
+
+  private final ConcurrentMap<Class<?>, ConcurrentMap<String, Optional<Function<Object, Object>>>> readers = new ConcurrentHashMap<>();
+
+  /**
+   * Reads the properties with reflection
+   */
+  public PropertyReaders() {
+    this(new ReflectionAccessorStrategy());
+  }
+
+  /**
+   * @param accessors The strategy used to create the readers
+   */
+  public PropertyReaders(AccessorStrategy accessors) {
+    this.accessors = accessors;
+  }
+
+  /**
+   * @param bean Object to read
+   * @param property Property name
+   * @return the value of the property, or null if the object does not have it
+   */
+  public Object read(Object bean, String property) {
+    Function<Object, Object> reader = reader(bean.getClass(), property);
+    if (reader == null) {
+      return null;
+    }
+    return reader.apply(bean);
+  }
+
+  /**
+   * @param clazz Class to read from
+   * @param property Property name
+   * @return the reader of the property, or null if the class does not have it
+   */
+  public Function<Object, Object> reader(Class<?> clazz, String property) {
+    ConcurrentMap<String, Optional<Function<Object, Object>>> classReaders = readers.get(clazz);
+    if (classReaders == null) {
+      classReaders = readers.computeIfAbsent(clazz, key -> new ConcurrentHashMap<>());
+    }
+
+    Optional<Function<Object, Object>> reader = classReaders.get(property);
+    if (reader == null) {
+      reader = classReaders.computeIfAbsent(property, key -> Optional.ofNullable(lookupReader(clazz, key)));
+    }
+    return reader.orElse(null);
+  }
+
+  /**
+   * @param clazz Class to read from
+   * @param property Property name
+   * @return the reader, or null if there is no property with the name
+   */
+  protected Function<Object, Object> lookupReader(Class<?> clazz, String property) {
+    Field field = findField(clazz, property);
+    if (field == null) {
+      Method readMethod = findReadMethod(clazz, property);
+      return readMethod == null ? null : accessors.getter(readMethod);
+    }
+
+    try {
+      return accessors.fieldReader(field);
+    } catch (SecurityException e) {
+      log.warn("Can not access field " + field + ", it will be ignored", e);
+      return null;
+    }
+  }
+
+  /**
+   * @param clazz Class to look, with its superclasses
+   * @param property Property name
+   * @return the field of the property, or null if there is none
+   */
+  protected static Field findField(Class<?> clazz, String property) {
+    if (!hasProperties(clazz)) {
+      return null;
+    }
+
+    for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (!isProperty(field)) {
+          continue;
+        }
+
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        String name = serializedName != null ? serializedName.value() : field.getName();
+        if (name.equals(property)) {
+          return field;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param clazz Class to look
+   * @param property Property name
+   * @return the public getter of the property, or null if there is none
+   */
+  protected static Method findReadMethod(Class<?> clazz, String property) {
+    if (!hasProperties(clazz)) {
+      return null;
+    }
+
+    try {
+      for (PropertyDescriptor descriptor : Introspector.getBeanInfo(clazz, Object.class).getPropertyDescriptors()) {
+        if (descriptor.getName().equals(property)) {
+          return descriptor.getReadMethod();
+        }
+      }
+    } catch (IntrospectionException e) {
+      log.warn("Exception introspecting " + clazz, e);
+    }
+    return null;
+  }
+
+  /**
+   * @param value Value to check
+   * @return if the value is a plain object, that can be read with the readers instead of being
+   *         converted to a map
+   */
+  public static boolean isBean(Object value) {
+    return value != null && !(value instanceof Map) && !(value instanceof JsonElement)
+        && hasProperties(value.getClass());
+  }
+
+  /**
+   * @param clazz Class to check
+   * @return if the class is a plain object, not a JDK class, a primitive, an array or an enum
+   */
+  public static boolean hasProperties(Class<?> clazz) {
+    if (clazz.isPrimitive() || clazz.isArray() || clazz.isEnum() || clazz.isInterface()) {
+      return false;
+    }
+
+    String name = clazz.getName();
+    return !name.startsWith("java.") && !name.startsWith("javax.");
+  }
+
+  private static boolean isProperty(Field field) {
+    int modifiers = field.getModifiers();
+    return !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic();
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Accessor strategy that uses plain reflection ({@link Method#invoke(Object, Object...)},
+ * {@link Field#set(Object, Object)} and {@link Class#newInstance()}).
+ *
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class ReflectionAccessorStrategy implements AccessorStrategy {
+
+  @Override
+  public <T> Supplier<T> constructor(Class<T> clazz) {
+    return () -> {
+      try {
+        return clazz.newInstance();
+      } catch (InstantiationException | IllegalAccessException e) {
+        throw new IllegalStateException("Could not create instance of " + clazz, e);
+      }
+    };
+  }
+
+  @Override
+  public BiConsumer<Object, Object> setter(Method writeMethod) {
+    writeMethod.setAccessible(true);
+
+    return (target, value) -> {
+      try {
+        writeMethod.invoke(target, value);
+      } catch (InvocationTargetException e) {
+        throw rethrow(e.getCause());
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Could not invoke " + writeMethod, e);
+      }
+    };
+  }
+
+  @Override
+  public BiConsumer<Object, Object> fieldWriter(Field field) {
+    field.setAccessible(true);
+
+    return (target, value) -> {
+      try {
+        field.set(target, value);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Could not write field " + field, e);
+      }
+    };
+  }
+
+  /**
+   * @param cause Exception thrown by the accessed member
+   * @return Unchecked exception to throw
+   */
+  protected static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IllegalStateException(cause);
+  }
+
+}
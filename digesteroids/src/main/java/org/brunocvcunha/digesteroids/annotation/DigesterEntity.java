@@ -31,5 +31,9 @@ import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
 @Target(ElementType.TYPE)
 public @interface DigesterEntity {
     
+    /**
+     * @return if the fields should be written directly, instead of using the setters
+     */
+    boolean fieldAccess() default false;
     
 }
@@ -21,16 +21,18 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.brunocvcunha.digesteroids.NormalizeModeEnum;
 import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
 import org.brunocvcunha.digesteroids.rule.DigesterRule;
+import org.brunocvcunha.digesteroids.rule.TypedDigesterRule;
 
 /**
- * Annotation used to map field with another table
+ * Annotation used to map field (or getter, in the lazy interfaces) with another table
  * @author Bruno Candido Volpato da Cunha
  *
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.METHOD})
 @Repeatable(value = DigesterMappings.class)
 public @interface DigesterMapping {
     
@@ -53,6 +55,12 @@ public @interface DigesterMapping {
      * @return rule
      */
     Class<? extends DigesterRule> rule() default DigesterRule.class;
+
+    /**
+     * @return rules applied in order after the {@link #rule()}, each one receiving the output of
+     *         the previous one
+     */
+    Class<? extends TypedDigesterRule>[] rules() default {};
     
     /**
      * @return htmlText
@@ -79,5 +87,16 @@ public @interface DigesterMapping {
      * @return mandatory
      */
     boolean mandatory() default false;
+
+    /**
+     * @return format of the value, e.g. a date pattern or one of the
+     *         {@link org.brunocvcunha.digesteroids.cast.DateParser} format names
+     */
+    String format() default "";
+
+    /**
+     * @return normalization applied to the String values, in addition to the {@link #trim()}
+     */
+    NormalizeModeEnum[] normalize() default {};
     
 }
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.cast;
+
+import java.lang.reflect.Type;
+
+/**
+ * Creates converters for a family of target types (e.g. all the enums, or all the arrays), which
+ * can not be registered one by one in the {@link ConverterRegistry}
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@FunctionalInterface
+public interface ConverterFactory {
+
+  /**
+   * @param sourceClass Class of the values to convert
+   * @param targetType Type to convert to
+   * @param caster Caster that owns the registry, to convert nested values
+   * @return the converter, or null if the factory does not handle these types
+   */
+  Converter<?, ?> create(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster);
+
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.cast;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of the {@link Converter}s used by a caster. Converters are registered by source and
+ * target class, and factories can handle whole families of target types.
+ * <p>
+ * The converter resolved for each target {@link Type} and source class is cached, so after the
+ * first cast a lookup costs two hash lookups. Lookups are thread-safe; registering a converter
+ * clears the cache, so the converters should be registered before the registry is shared. The
+ * casters keep a {@link #readOnlyCopy() read-only copy}, so they can't be changed once built.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class ConverterRegistry {
+
+  /**
+   * Marks the (target, source) pairs that have no converter, as the cache does not allow nulls
+   */
+  private static final Converter<Object, Object> NONE = value -> {
+    throw new UnsupportedOperationException();
+  };
+
+  private final Map<Class<?>, Map<Class<?>, Converter<?, ?>>> converters = new ConcurrentHashMap<>();
+
+  private final List<ConverterFactory> factories = new CopyOnWriteArrayList<>();
+
+  private final ConcurrentMap<Type, ConcurrentMap<Class<?>, Converter<Object, Object>>> cache = new ConcurrentHashMap<>();
+
+  private final boolean readOnly;
+
+  /**
+   * Creates an empty registry
+   */
+  public ConverterRegistry() {
+    this.readOnly = false;
+  }
+
+  /**
+   * @param registry Registry to copy the converters and factories from
+   * @param readOnly If the copy rejects new registrations
+   */
+  private ConverterRegistry(ConverterRegistry registry, boolean readOnly) {
+    for (Map.Entry<Class<?>, Map<Class<?>, Converter<?, ?>>> entry : registry.converters.entrySet()) {
+      converters.put(entry.getKey(), new ConcurrentHashMap<>(entry.getValue()));
+    }
+    factories.addAll(registry.factories);
+    this.readOnly = readOnly;
+  }
+
+  /**
+   * @return a copy of the converters and factories, that can be changed without affecting this
+   *         registry
+   */
+  public ConverterRegistry copy() {
+    return new ConverterRegistry(this, false);
+  }
+
+  /**
+   * @return a copy of the converters and factories that rejects new registrations
+   */
+  public ConverterRegistry readOnlyCopy() {
+    return new ConverterRegistry(this, true);
+  }
+
+  /**
+   * @return if the registry rejects new registrations
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("The registry is read-only, register the converters in a copy of it");
+    }
+  }
+
+  /**
+   * @return a registry with the default converters (numbers, booleans, BigDecimal, BigInteger,
+   *         Instant, LocalDate, enums, Optional and arrays)
+   */
+  public static ConverterRegistry withDefaults() {
+    ConverterRegistry registry = new ConverterRegistry();
+    DefaultConverters.register(registry);
+    return registry;
+  }
+
+  /**
+   * Register a converter, replacing any previous one for the same source and target
+   * @param sourceClass Class of the values to convert, subclasses are also converted
+   * @param targetClass Class to convert to
+   * @param converter Converter
+   * @return this registry
+   * @param <S> Source type
+   * @param <T> Target type
+   * @throws UnsupportedOperationException if the registry is read-only
+   */
+  public <S, T> ConverterRegistry register(Class<S> sourceClass, Class<T> targetClass,
+      Converter<? super S, ? extends T> converter) {
+    checkWritable();
+    converters.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>()).put(sourceClass, converter);
+    cache.clear();
+    return this;
+  }
+
+  /**
+   * Register a factory, which takes precedence over the factories registered before it
+   * @param factory Factory
+   * @return this registry
+   * @throws UnsupportedOperationException if the registry is read-only
+   */
+  public ConverterRegistry register(ConverterFactory factory) {
+    checkWritable();
+    factories.add(0, factory);
+    cache.clear();
+    return this;
+  }
+
+  /**
+   * @param sourceClass Class of the value to convert
+   * @param targetType Type to convert to
+   * @param caster Caster that owns the registry, to convert nested values
+   * @return the converter, or null if there is none
+   */
+  public Converter<Object, Object> find(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster) {
+    ConcurrentMap<Class<?>, Converter<Object, Object>> bySource = cache.get(targetType);
+    if (bySource == null) {
+      bySource = cache.computeIfAbsent(targetType, key -> new ConcurrentHashMap<>());
+    }
+
+    Converter<Object, Object> converter = bySource.get(sourceClass);
+    if (converter == null) {
+      converter = resolve(sourceClass, targetType, caster);
+      bySource.putIfAbsent(sourceClass, converter);
+    }
+
+    return converter == NONE ? null : converter;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Converter<Object, Object> resolve(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster) {
+    Map<Class<?>, Converter<?, ?>> bySource = converters.get(TypeToken.get(targetType).getRawType());
+    if (bySource != null) {
+      for (Class<?> type : hierarchy(sourceClass)) {
+        Converter<?, ?> converter = bySource.get(type);
+        if (converter != null) {
+          return (Converter<Object, Object>) converter;
+        }
+      }
+    }
+
+    for (ConverterFactory factory : factories) {
+      Converter<?, ?> converter = factory.create(sourceClass, targetType, caster);
+      if (converter != null) {
+        return (Converter<Object, Object>) converter;
+      }
+    }
+
+    return NONE;
+  }
+
+  /**
+   * @param clazz Class
+   * @return the class, its superclasses, all of its interfaces and at last Object, closest first
+   */
+  private static Set<Class<?>> hierarchy(Class<?> clazz) {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+      types.add(current);
+    }
+
+    Deque<Class<?>> pending = new ArrayDeque<>(new ArrayList<>(types));
+    while (!pending.isEmpty()) {
+      for (Class<?> iface : pending.poll().getInterfaces()) {
+        if (types.add(iface)) {
+          pending.add(iface);
+        }
+      }
+    }
+    types.add(Object.class);
+    return types;
+  }
+
+}
@@ -0,0 +1,408 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.cast;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Date parsing with java.time. Without a format, the text (or integral number) is read as epoch
+ * milliseconds (numbers with 10 digits or more), ISO-8601 (hand parsed, the common case, or
+ * <code>yyyyMMdd</code>) or RFC-1123. A format can be one of the names {@link #ISO},
+ * {@link #EPOCH_MILLIS}, {@link #EPOCH_SECONDS} and {@link #RFC_1123}, or a
+ * {@link DateTimeFormatter} pattern, which is compiled only once.
+ * <p>
+ * Dates without time are read as the start of the day, and date times without offset as UTC.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class DateParser {
+
+  /**
+   * Format name for ISO-8601 dates and date times
+   */
+  public static final String ISO = "iso";
+
+  /**
+   * Format name for milliseconds since the epoch
+   */
+  public static final String EPOCH_MILLIS = "epochMillis";
+
+  /**
+   * Format name for seconds since the epoch
+   */
+  public static final String EPOCH_SECONDS = "epochSeconds";
+
+  /**
+   * Format name for RFC-1123 date times, e.g. <code>Tue, 3 Jun 2008 11:05:30 GMT</code>
+   */
+  public static final String RFC_1123 = "rfc1123";
+
+  /**
+   * Minimum digits of a number detected as epoch milliseconds, 1970-01-12
+   */
+  private static final int MIN_EPOCH_DIGITS = 10;
+
+  /**
+   * Length of the ISO-8601 basic dates, <code>yyyyMMdd</code>
+   */
+  private static final int BASIC_DATE_LENGTH = 8;
+
+  private static final ConcurrentMap<String, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+  private DateParser() {
+  }
+
+  /**
+   * @param pattern Pattern
+   * @return the formatter for the pattern, compiled only once
+   */
+  public static DateTimeFormatter formatter(String pattern) {
+    DateTimeFormatter formatter = formatters.get(pattern);
+    if (formatter == null) {
+      formatter = formatters.computeIfAbsent(pattern, key -> DateTimeFormatter.ofPattern(key, Locale.ENGLISH));
+    }
+    return formatter;
+  }
+
+  /**
+   * @param type Class
+   * @return if the class is one of the date types supported by {@link #convert}
+   */
+  public static boolean isDateType(Class<?> type) {
+    return type == Date.class || type == Instant.class || type == LocalDate.class
+        || type == LocalDateTime.class || type == OffsetDateTime.class || type == ZonedDateTime.class;
+  }
+
+  /**
+   * @param value Text, number, {@link Date}, {@link Calendar} or java.time value
+   * @param format Format, or null / empty to detect it
+   * @param type One of the date types, see {@link #isDateType(Class)}
+   * @return the date
+   * @param <T> Date type
+   * @throws DateTimeParseException if the text can not be parsed
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T convert(Object value, String format, Class<T> type) {
+    OffsetDateTime dateTime = parse(value, format);
+
+    if (type == Date.class) {
+      return (T) Date.from(dateTime.toInstant());
+    }
+    if (type == Instant.class) {
+      return (T) dateTime.toInstant();
+    }
+    if (type == LocalDate.class) {
+      return (T) dateTime.toLocalDate();
+    }
+    if (type == LocalDateTime.class) {
+      return (T) dateTime.toLocalDateTime();
+    }
+    if (type == ZonedDateTime.class) {
+      return (T) dateTime.toZonedDateTime();
+    }
+    if (type == OffsetDateTime.class) {
+      return (T) dateTime;
+    }
+    throw new IllegalArgumentException("Not a date type: " + type);
+  }
+
+  /**
+   * @param value Text, number, {@link Date}, {@link Calendar} or java.time value
+   * @param format Format, or null / empty to detect it
+   * @return the date time
+   * @throws DateTimeParseException if the text can not be parsed
+   */
+  public static OffsetDateTime parse(Object value, String format) {
+    if (value instanceof OffsetDateTime) {
+      return (OffsetDateTime) value;
+    }
+    if (value instanceof Date) {
+      return ((Date) value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+    if (value instanceof Calendar) {
+      return ((Calendar) value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+    if (value instanceof Number) {
+      if ((format == null || format.isEmpty()) && isIntegral((Number) value)) {
+        // detected like the texts, so 20240131 in a JSON payload is not a date in 1970
+        return parse(String.valueOf(((Number) value).longValue()), format);
+      }
+      long epoch = ((Number) value).longValue();
+      return ofEpoch(EPOCH_SECONDS.equals(format) ? epoch * 1000 : epoch);
+    }
+    if (value instanceof TemporalAccessor) {
+      return toOffsetDateTime((TemporalAccessor) value);
+    }
+
+    return parse(value.toString().trim(), format);
+  }
+
+  private static OffsetDateTime parse(String text, String format) {
+    if (format == null || format.isEmpty()) {
+      if (isEpoch(text)) {
+        return ofEpoch(parseEpoch(text, 1));
+      }
+      if (text.length() == BASIC_DATE_LENGTH && isInteger(text)) {
+        return toOffsetDateTime(DateTimeFormatter.BASIC_ISO_DATE.parse(text));
+      }
+      return parseIsoOrRfc(text);
+    }
+
+    switch (format) {
+      case ISO:
+        return parseIsoOrRfc(text);
+      case EPOCH_MILLIS:
+        return ofEpoch(parseEpoch(text, 1));
+      case EPOCH_SECONDS:
+        return ofEpoch(parseEpoch(text, 1000));
+      case RFC_1123:
+        return OffsetDateTime.parse(text, DateTimeFormatter.RFC_1123_DATE_TIME);
+      default:
+        return toOffsetDateTime(formatter(format).parse(text));
+    }
+  }
+
+  private static OffsetDateTime parseIsoOrRfc(String text) {
+    OffsetDateTime parsed = parseIso(text);
+    if (parsed != null) {
+      return parsed;
+    }
+
+    if (!text.isEmpty() && Character.isLetter(text.charAt(0))) {
+      return OffsetDateTime.parse(text, DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+    return toOffsetDateTime(DateTimeFormatter.ISO_DATE_TIME.parse(text));
+  }
+
+  /**
+   * @param text Text
+   * @return if the text is an integer number with enough digits to be read as epoch milliseconds,
+   *         so short numbers like <code>20240115</code> are not taken as dates in 1970
+   */
+  private static boolean isEpoch(String text) {
+    int start = text.startsWith("-") ? 1 : 0;
+    return text.length() - start >= MIN_EPOCH_DIGITS && isInteger(text);
+  }
+
+  /**
+   * @param number Number
+   * @return if the number has no fractional part, as the JSON numbers read as doubles
+   */
+  private static boolean isIntegral(Number number) {
+    if (number instanceof Double || number instanceof Float) {
+      double value = number.doubleValue();
+      return value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE;
+    }
+    if (number instanceof BigDecimal) {
+      BigDecimal value = (BigDecimal) number;
+      return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+    return true;
+  }
+
+  /**
+   * @param text Text
+   * @return if the text is an integer number, optionally negative
+   */
+  private static boolean isInteger(String text) {
+    int start = text.startsWith("-") ? 1 : 0;
+    if (text.length() == start) {
+      return false;
+    }
+    for (int i = start; i < text.length(); i++) {
+      if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param text Text with the epoch
+   * @param unit Milliseconds in each unit of the epoch
+   * @return the epoch in milliseconds
+   * @throws DateTimeParseException if the text is not a number, or overflows a long
+   */
+  private static long parseEpoch(String text, long unit) {
+    try {
+      return Math.multiplyExact(Long.parseLong(text), unit);
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw new DateTimeParseException("Invalid epoch: " + text, text, 0, e);
+    }
+  }
+
+  private static OffsetDateTime ofEpoch(long millis) {
+    return Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC);
+  }
+
+  /**
+   * Hand parsed <code>yyyy-MM-dd['T'HH:mm[:ss[.SSSSSSSSS]][Z|+HH:mm|+HHmm|+HH]]</code>
+   * @param text Text
+   * @return the date time, or null if the text is not in this shape
+   */
+  static OffsetDateTime parseIso(CharSequence text) {
+    int length = text.length();
+    if (length < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+      return null;
+    }
+
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 2);
+    int day = digits(text, 8, 2);
+    if (year < 0 || month < 0 || day < 0) {
+      return null;
+    }
+
+    if (length == 10) {
+      return OffsetDateTime.of(year, month, day, 0, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    char separator = text.charAt(10);
+    if ((separator != 'T' && separator != 't' && separator != ' ') || length < 16 || text.charAt(13) != ':') {
+      return null;
+    }
+
+    int hour = digits(text, 11, 2);
+    int minute = digits(text, 14, 2);
+    if (hour < 0 || minute < 0) {
+      return null;
+    }
+
+    int i = 16;
+    int second = 0;
+    int nano = 0;
+    if (i < length && text.charAt(i) == ':') {
+      second = digits(text, i + 1, 2);
+      if (second < 0) {
+        return null;
+      }
+      i += 3;
+
+      if (i < length && (text.charAt(i) == '.' || text.charAt(i) == ',')) {
+        i++;
+        int fractionDigits = 0;
+        while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+          if (fractionDigits < 9) {
+            nano = nano * 10 + (text.charAt(i) - '0');
+            fractionDigits++;
+          }
+          i++;
+        }
+        if (fractionDigits == 0) {
+          return null;
+        }
+        for (; fractionDigits < 9; fractionDigits++) {
+          nano *= 10;
+        }
+      }
+    }
+
+    ZoneOffset offset = parseOffset(text, i);
+    if (offset == null) {
+      return null;
+    }
+
+    return OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset);
+  }
+
+  /**
+   * @return the offset at the end of the text (UTC if there is none), or null if it's invalid
+   */
+  private static ZoneOffset parseOffset(CharSequence text, int start) {
+    int length = text.length();
+    if (start == length) {
+      return ZoneOffset.UTC;
+    }
+
+    char sign = text.charAt(start);
+    if ((sign == 'Z' || sign == 'z') && start + 1 == length) {
+      return ZoneOffset.UTC;
+    }
+    if (sign != '+' && sign != '-') {
+      return null;
+    }
+
+    int hours = digits(text, start + 1, 2);
+    int minutes = 0;
+    int i = start + 3;
+    if (i < length && text.charAt(i) == ':') {
+      i++;
+    }
+    if (i < length) {
+      minutes = digits(text, i, 2);
+      i += 2;
+    }
+    if (hours < 0 || minutes < 0 || i != length) {
+      return null;
+    }
+
+    int seconds = (hours * 3600 + minutes * 60) * (sign == '-' ? -1 : 1);
+    return ZoneOffset.ofTotalSeconds(seconds);
+  }
+
+  /**
+   * @return the number with the given count of digits, or -1 if there are non-digit characters
+   */
+  private static int digits(CharSequence text, int start, int count) {
+    if (start + count > text.length()) {
+      return -1;
+    }
+
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  /**
+   * @param temporal Parsed temporal
+   * @return the date time, considering UTC if there is no offset and midnight if there is no time
+   */
+  private static OffsetDateTime toOffsetDateTime(TemporalAccessor temporal) {
+    if (temporal.query(TemporalQueries.zone()) != null && temporal.isSupported(ChronoField.HOUR_OF_DAY)) {
+      return ZonedDateTime.from(temporal).toOffsetDateTime();
+    }
+    if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+      return Instant.from(temporal).atOffset(ZoneOffset.UTC);
+    }
+    if (temporal.isSupported(ChronoField.HOUR_OF_DAY)) {
+      return LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC);
+    }
+    return LocalDate.from(temporal).atStartOfDay().atOffset(ZoneOffset.UTC);
+  }
+
+}
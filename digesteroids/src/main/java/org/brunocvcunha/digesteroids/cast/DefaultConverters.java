@@ -0,0 +1,276 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.cast;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The converters registered by {@link ConverterRegistry#withDefaults()}. The dates are parsed by
+ * {@link DateParser}, detecting the format.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+final class DefaultConverters {
+
+  private DefaultConverters() {
+  }
+
+  static void register(ConverterRegistry registry) {
+    registerNumbers(registry);
+
+    registry.register(Boolean.class, Boolean.class, bool -> bool);
+    registry.register(Boolean.class, boolean.class, bool -> bool);
+    registry.register(Number.class, Boolean.class, number -> number.doubleValue() != 0);
+    registry.register(Number.class, boolean.class, number -> number.doubleValue() != 0);
+    registry.register(CharSequence.class, Boolean.class, NumberParser::parseBoolean);
+    registry.register(CharSequence.class, boolean.class, NumberParser::parseBoolean);
+
+    for (Class<?> dateType : new Class<?>[] {Instant.class, LocalDate.class, LocalDateTime.class,
+        OffsetDateTime.class, ZonedDateTime.class}) {
+      registerDate(registry, dateType);
+    }
+
+    registry.register(DefaultConverters::enumConverter);
+    registry.register(DefaultConverters::optionalConverter);
+    registry.register(DefaultConverters::arrayConverter);
+  }
+
+  private static void registerNumbers(ConverterRegistry registry) {
+    registry.register(Number.class, Byte.class, DefaultConverters::toByte);
+    registry.register(Number.class, byte.class, DefaultConverters::toByte);
+    registry.register(CharSequence.class, Byte.class, text -> toByte(NumberParser.parseLong(text)));
+    registry.register(CharSequence.class, byte.class, text -> toByte(NumberParser.parseLong(text)));
+
+    registry.register(Number.class, Short.class, DefaultConverters::toShort);
+    registry.register(Number.class, short.class, DefaultConverters::toShort);
+    registry.register(CharSequence.class, Short.class, text -> toShort(NumberParser.parseLong(text)));
+    registry.register(CharSequence.class, short.class, text -> toShort(NumberParser.parseLong(text)));
+
+    registry.register(Integer.class, Integer.class, number -> number);
+    registry.register(Integer.class, int.class, number -> number);
+    registry.register(Number.class, Integer.class, DefaultConverters::toInt);
+    registry.register(Number.class, int.class, DefaultConverters::toInt);
+    registry.register(CharSequence.class, Integer.class, NumberParser::parseInt);
+    registry.register(CharSequence.class, int.class, NumberParser::parseInt);
+
+    registry.register(Long.class, Long.class, number -> number);
+    registry.register(Long.class, long.class, number -> number);
+    registry.register(Number.class, Long.class, DefaultConverters::toLong);
+    registry.register(Number.class, long.class, DefaultConverters::toLong);
+    registry.register(CharSequence.class, Long.class, NumberParser::parseLong);
+    registry.register(CharSequence.class, long.class, NumberParser::parseLong);
+
+    registry.register(Double.class, Double.class, number -> number);
+    registry.register(Double.class, double.class, number -> number);
+    registry.register(Number.class, Double.class, Number::doubleValue);
+    registry.register(Number.class, double.class, Number::doubleValue);
+    registry.register(CharSequence.class, Double.class, NumberParser::parseDouble);
+    registry.register(CharSequence.class, double.class, NumberParser::parseDouble);
+
+    registry.register(Float.class, Float.class, number -> number);
+    registry.register(Float.class, float.class, number -> number);
+    registry.register(Number.class, Float.class, Number::floatValue);
+    registry.register(Number.class, float.class, Number::floatValue);
+    registry.register(CharSequence.class, Float.class, text -> Float.parseFloat(text.toString()));
+    registry.register(CharSequence.class, float.class, text -> Float.parseFloat(text.toString()));
+
+    registry.register(BigDecimal.class, BigDecimal.class, number -> number);
+    registry.register(BigInteger.class, BigDecimal.class, BigDecimal::new);
+    registry.register(Number.class, BigDecimal.class, DefaultConverters::toBigDecimal);
+    registry.register(CharSequence.class, BigDecimal.class, text -> new BigDecimal(text.toString().trim()));
+
+    registry.register(BigInteger.class, BigInteger.class, number -> number);
+    registry.register(BigDecimal.class, BigInteger.class, BigDecimal::toBigInteger);
+    registry.register(Number.class, BigInteger.class, number -> toBigDecimal(number).toBigInteger());
+    registry.register(CharSequence.class, BigInteger.class, text -> new BigDecimal(text.toString().trim()).toBigInteger());
+  }
+
+  /**
+   * Truncates decimals and saturates values out of range, like {@link #toInt(Number)}
+   */
+  private static byte toByte(Number number) {
+    return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, toInt(number)));
+  }
+
+  /**
+   * Truncates decimals and saturates values out of range, like {@link #toInt(Number)}
+   */
+  private static short toShort(Number number) {
+    return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, toInt(number)));
+  }
+
+  /**
+   * Truncates decimals and saturates values out of range, the same way a cast from double does
+   */
+  private static int toInt(Number number) {
+    if (number instanceof Double || number instanceof Float) {
+      return (int) number.doubleValue();
+    }
+    return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, toLong(number)));
+  }
+
+  /**
+   * Truncates decimals and saturates values out of range, the same way a cast from double does
+   */
+  private static long toLong(Number number) {
+    if (number instanceof Long || number instanceof Integer || number instanceof Short
+        || number instanceof Byte) {
+      return number.longValue();
+    }
+    if (number instanceof Double || number instanceof Float) {
+      return (long) number.doubleValue();
+    }
+    return NumberParser.parseLong(number.toString());
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof Double || number instanceof Float) {
+      return BigDecimal.valueOf(number.doubleValue());
+    }
+    if (number instanceof Long || number instanceof Integer || number instanceof Short
+        || number instanceof Byte) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    return new BigDecimal(number.toString());
+  }
+
+  private static <T> void registerDate(ConverterRegistry registry, Class<T> dateType) {
+    Converter<Object, T> converter = value -> DateParser.convert(value, null, dateType);
+    registry.register(CharSequence.class, dateType, converter);
+    registry.register(Number.class, dateType, converter);
+    registry.register(Date.class, dateType, converter);
+    registry.register(Calendar.class, dateType, converter);
+    registry.register(TemporalAccessor.class, dateType, converter);
+  }
+
+  /**
+   * Enums from their names (case-insensitive when there is no exact match) or ordinals
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Converter<?, ?> enumConverter(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster) {
+    Class<?> targetClass = TypeToken.get(targetType).getRawType();
+    if (!targetClass.isEnum()) {
+      return null;
+    }
+
+    Enum<?>[] constants = (Enum<?>[]) targetClass.getEnumConstants();
+
+    if (Number.class.isAssignableFrom(sourceClass)) {
+      return (Number ordinal) -> {
+        int index = ordinal.intValue();
+        if (index < 0 || index >= constants.length) {
+          throw new IllegalArgumentException("No enum constant " + targetClass.getName()
+              + " with ordinal " + ordinal);
+        }
+        return constants[index];
+      };
+    }
+
+    if (CharSequence.class.isAssignableFrom(sourceClass)) {
+      Map<String, Enum<?>> byName = new HashMap<>();
+      for (Enum<?> constant : constants) {
+        byName.putIfAbsent(constant.name().toUpperCase(Locale.ROOT), constant);
+      }
+      return (CharSequence text) -> {
+        String name = text.toString().trim();
+        try {
+          return Enum.valueOf((Class) targetClass, name);
+        } catch (IllegalArgumentException e) {
+          Enum<?> constant = byName.get(name.toUpperCase(Locale.ROOT));
+          if (constant == null) {
+            throw e;
+          }
+          return constant;
+        }
+      };
+    }
+
+    return null;
+  }
+
+  /**
+   * Optional of any type, converting the value to the type argument
+   */
+  private static Converter<?, ?> optionalConverter(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster) {
+    if (TypeToken.get(targetType).getRawType() != Optional.class) {
+      return null;
+    }
+
+    Type valueType = targetType instanceof ParameterizedType
+        ? ((ParameterizedType) targetType).getActualTypeArguments()[0] : Object.class;
+    return value -> Optional.ofNullable(caster.cast(value, valueType));
+  }
+
+  /**
+   * Arrays from collections or other arrays, converting each element to the component type
+   */
+  private static Converter<?, ?> arrayConverter(Class<?> sourceClass, Type targetType, DigesteroidsCaster caster) {
+    Class<?> targetClass = TypeToken.get(targetType).getRawType();
+    if (!targetClass.isArray()
+        || !(Collection.class.isAssignableFrom(sourceClass) || sourceClass.isArray())) {
+      return null;
+    }
+
+    Type componentType = targetType instanceof GenericArrayType
+        ? ((GenericArrayType) targetType).getGenericComponentType() : targetClass.getComponentType();
+    Class<?> componentClass = targetClass.getComponentType();
+
+    return value -> {
+      Object[] elements = value instanceof Collection ? ((Collection<?>) value).toArray() : toObjectArray(value);
+      Object array = Array.newInstance(componentClass, elements.length);
+      for (int i = 0; i < elements.length; i++) {
+        Object element = caster.cast(elements[i], componentType);
+        if (element != null || !componentClass.isPrimitive()) {
+          Array.set(array, i, element);
+        }
+      }
+      return array;
+    };
+  }
+
+  private static Object[] toObjectArray(Object array) {
+    if (array instanceof Object[]) {
+      return (Object[]) array;
+    }
+
+    Object[] elements = new Object[Array.getLength(array)];
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = Array.get(array, i);
+    }
+    return elements;
+  }
+
+}
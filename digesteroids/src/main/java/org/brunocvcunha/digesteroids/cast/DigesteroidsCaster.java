@@ -15,6 +15,10 @@
  */
 package org.brunocvcunha.digesteroids.cast;
 
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Date;
 import java.util.List;
@@ -48,6 +52,26 @@ public interface DigesteroidsCaster {
    */
   public <T> T cast(Object value, Type targetType, String source);
 
+  /**
+   * Cast value to the given type, reading it with the given format (e.g. a date pattern)
+   * @param value Value to convert
+   * @param targetType Type to convert
+   * @param source Source to consider in the annotations
+   * @param format Format of the value, or empty to use the default one
+   * @return Return data
+   * @param <T> Type to return data
+   */
+  default <T> T cast(Object value, Type targetType, String source, String format) {
+    return cast(value, targetType, source);
+  }
+
+  /**
+   * @return the registry with the converters used by this caster, or null if it does not use one
+   */
+  default ConverterRegistry getConverterRegistry() {
+    return null;
+  }
+
   /**
    * Convert value to a list of map
    * @param value Value
@@ -61,6 +85,16 @@ public interface DigesteroidsCaster {
    * @return Map
    */
   Map<String, Object> map(Object value);
+
+  /**
+   * Read the next JSON object from the reader into a map, without consuming the rest of the input
+   * @param reader Reader positioned at the object
+   * @return Map
+   * @throws IOException Error reading the input
+   */
+  default Map<String, Object> map(JsonReader reader) throws IOException {
+    return map(new JsonParser().parse(reader).toString());
+  }
   
   /**
    * Convert a value to JSON
@@ -17,12 +17,14 @@ package org.brunocvcunha.digesteroids.cast;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +37,7 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 /**
- * Reflection Difference Handling
+ * Reflection Difference Handling. Instances are immutable and safe for concurrent use.
  * 
  * @author Bruno Candido Volpato da Cunha
  */
@@ -69,28 +71,120 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
   
   /**
    * The default date/time formatter
+   * @deprecated dates are parsed by {@link DateParser}, detecting the format unless one is given
    */
+  @Deprecated
   public static final DateTimeFormatter DATE_FORMAT_PARSER = DateTimeFormat.forPattern(DEFAULT_DATE_FORMAT).withZoneUTC();
 
-  private static DigesteroidsDefaultCaster instance;
-  
-  
-  private DigesteroidsDefaultCaster() {
+  private final Gson gson;
+  private final Gson gsonPretty;
+  private final String dateFormat;
+  private final ConverterRegistry converters;
+
+  private DigesteroidsDefaultCaster(Builder builder) {
+    this.gson = builder.gson;
+    this.gsonPretty = builder.gsonPretty;
+    this.dateFormat = builder.dateFormat;
+    this.converters = builder.converters.readOnlyCopy();
+  }
+
+  /**
+   * Lazy holder for the singleton, initialized by the class loader on first access
+   */
+  private static class InstanceHolder {
+    private static final DigesteroidsDefaultCaster INSTANCE = builder().build();
   }
 
   /**
    * @return singleton instance
    */
   public static DigesteroidsDefaultCaster getInstance() {
-    if (instance == null) {
-      instance = new DigesteroidsDefaultCaster();
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * @return builder for a customized caster
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Builder for {@link DigesteroidsDefaultCaster}. The built caster is immutable, and can be shared
+   * by any number of threads.
+   * 
+   * @author Bruno Candido Volpato da Cunha
+   */
+  public static class Builder {
+
+    private Gson gson = new GsonBuilder().create();
+    private Gson gsonPretty = new GsonBuilder().setPrettyPrinting().create();
+    private String dateFormat;
+    private final ConverterRegistry converters = ConverterRegistry.withDefaults();
+
+    private Builder() {
+    }
+
+    /**
+     * @param gson the Gson instance used to read and write JSON
+     * @return the builder
+     */
+    public Builder gson(Gson gson) {
+      this.gson = gson;
+      return this;
+    }
+
+    /**
+     * @param gsonPretty the Gson instance used to write pretty printed JSON
+     * @return the builder
+     */
+    public Builder gsonPretty(Gson gsonPretty) {
+      this.gsonPretty = gsonPretty;
+      return this;
+    }
+
+    /**
+     * @param dateFormat the format used to parse {@link Date}s, one of the {@link DateParser}
+     *        format names or a java.time pattern. By default the format is detected
+     * @return the builder
+     */
+    public Builder dateFormat(String dateFormat) {
+      this.dateFormat = dateFormat;
+      return this;
+    }
+
+    /**
+     * Register a converter, replacing the default one for the same source and target
+     * @param sourceClass Class of the values to convert, subclasses are also converted
+     * @param targetClass Class to convert to
+     * @param converter Converter
+     * @return the builder
+     * @param <S> Source type
+     * @param <T> Target type
+     */
+    public <S, T> Builder converter(Class<S> sourceClass, Class<T> targetClass,
+        Converter<? super S, ? extends T> converter) {
+      converters.register(sourceClass, targetClass, converter);
+      return this;
+    }
+
+    /**
+     * Register a converter factory, which takes precedence over the default ones
+     * @param factory Factory
+     * @return the builder
+     */
+    public Builder converterFactory(ConverterFactory factory) {
+      converters.register(factory);
+      return this;
+    }
+
+    /**
+     * @return the caster
+     */
+    public DigesteroidsDefaultCaster build() {
+      return new DigesteroidsDefaultCaster(this);
     }
-    
-    return instance;
   }
-  
-  private static Gson gson = new GsonBuilder().create();
-  private static Gson gsonPretty = new GsonBuilder().setPrettyPrinting().create();
 
   @Override
   public String json(Object value) {
@@ -139,6 +233,15 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
     return gson.fromJson(json, _obj_map_token);
   }
 
+  @Override
+  public Map<String, Object> map(JsonReader reader) throws IOException {
+    try {
+      return gson.fromJson(reader, _obj_map_token);
+    } catch (JsonIOException e) {
+      throw new IOException(e);
+    }
+  }
+
   @Override
   public List<Map<String, Object>> mapList(Object value) {
     String json;
@@ -154,11 +257,11 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
   
   @Override
   public Date date(Object value) {
-    if (value instanceof GregorianCalendar) {
-      return ((GregorianCalendar) value).getTime();
+    if (value instanceof Date) {
+      return (Date) value;
     }
-    
-    return DATE_FORMAT_PARSER.parseDateTime(String.valueOf(value)).toDate();
+
+    return DateParser.convert(value, dateFormat, Date.class);
   }
   
   @Override
@@ -166,6 +269,17 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
     return cast(value, targetType, null);
   }
   
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T cast(Object value, Type targetType, String source, String format) {
+    if (value != null && format != null && !format.isEmpty() && targetType instanceof Class
+        && DateParser.isDateType((Class<?>) targetType)) {
+      return DateParser.convert(value, format, (Class<T>) targetType);
+    }
+
+    return cast(value, targetType, source);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <T> T cast(Object value, Type targetType, String source) {
@@ -174,11 +288,22 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
       return null;
     }
     
-    TypeToken<T> typeToken = (TypeToken<T>) TypeToken.get(targetType);
-    Class<T> toClazz = (Class<T>) typeToken.getRawType();
+    Class<T> toClazz;
+    if (targetType instanceof Class) {
+      toClazz = (Class<T>) targetType;
+    } else {
+      toClazz = (Class<T>) TypeToken.get(targetType).getRawType();
+    }
 
-    log.debug("Handling value conversion (" + value.getClass() + " / " + value.toString() + ") to "
-        + toClazz);
+    if (log.isDebugEnabled()) {
+      log.debug("Handling value conversion (" + value.getClass() + " / " + value.toString() + ") to "
+          + toClazz);
+    }
+
+    Converter<Object, Object> converter = converters.find(value.getClass(), targetType, this);
+    if (converter != null) {
+      return (T) converter.convert(value);
+    }
 
     if (toClazz.isAssignableFrom(String.class)) {
       return (T) string(value);
@@ -193,11 +318,11 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
     }
 
     if (toClazz.isAssignableFrom(Integer.class)) {
-      return (T) Integer.valueOf(Double.valueOf(value.toString()).intValue());
+      return (T) Integer.valueOf(NumberParser.parseInt(value.toString()));
     }
 
     if (toClazz.isAssignableFrom(Long.class)) {
-      return (T) Long.valueOf(Double.valueOf(value.toString()).longValue());
+      return (T) Long.valueOf(NumberParser.parseLong(value.toString()));
     }
 
     if (toClazz.isAssignableFrom(Double.class)) {
@@ -223,6 +348,15 @@ public class DigesteroidsDefaultCaster implements DigesteroidsCaster {
     return gson.fromJson(gson.toJson(value), targetType);
   }
 
+  /**
+   * @return the read-only registry with the converters of this caster, build a new caster to
+   *         change them
+   */
+  @Override
+  public ConverterRegistry getConverterRegistry() {
+    return converters;
+  }
+
   @Override
   public Element htmlElement(Object value) {
     if (value instanceof Element) {
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.cast;
+
+/**
+ * Number parsing directly from {@link CharSequence}s, without creating intermediate strings or
+ * boxed values on the common (plain integer) path.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class NumberParser {
+
+  private NumberParser() {
+  }
+
+  /**
+   * Parse an integer value. Decimals are truncated and values out of range are saturated, the same
+   * way a cast from double does.
+   * @param value Text to parse
+   * @return the int value
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static int parseInt(CharSequence value) {
+    long parsed = parseLong(value);
+    if (parsed > Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE;
+    }
+    if (parsed < Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE;
+    }
+    return (int) parsed;
+  }
+
+  /**
+   * Parse a long value. Decimals are truncated and values out of range are saturated, the same way
+   * a cast from double does.
+   * @param value Text to parse
+   * @return the long value
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static long parseLong(CharSequence value) {
+    int start = 0;
+    int end = value.length();
+    while (start < end && value.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      end--;
+    }
+
+    int i = start;
+    boolean negative = false;
+    if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+      negative = value.charAt(i) == '-';
+      i++;
+    }
+
+    if (i == end) {
+      throw new NumberFormatException("For input string: \"" + value + "\"");
+    }
+
+    long result = 0;
+    for (; i < end; i++) {
+      int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9 || result > (Long.MAX_VALUE - digit) / 10) {
+        // decimals, exponent or overflow
+        return (long) parseDouble(value);
+      }
+      result = result * 10 + digit;
+    }
+
+    return negative ? -result : result;
+  }
+
+  /**
+   * @param value Text to parse
+   * @return the double value
+   * @throws NumberFormatException if the text is not a number
+   */
+  public static double parseDouble(CharSequence value) {
+    return Double.parseDouble(value.toString());
+  }
+
+  /**
+   * @param value Text to parse, true or false in any case
+   * @return the boolean value
+   * @throws IllegalArgumentException if the text is not a boolean
+   */
+  public static boolean parseBoolean(CharSequence value) {
+    String text = value.toString().trim();
+    if ("true".equalsIgnoreCase(text)) {
+      return true;
+    }
+    if ("false".equalsIgnoreCase(text)) {
+      return false;
+    }
+    throw new IllegalArgumentException("Not a boolean: \"" + value + "\"");
+  }
+
+}
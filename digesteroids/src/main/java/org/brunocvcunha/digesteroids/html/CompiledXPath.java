@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * XPath expression compiled once, to be evaluated against the documents created by
+ * {@link W3CDomConverter}. {@link XPathExpression}s are not thread-safe, so each thread compiles
+ * its own copy the first time it evaluates the expression.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class CompiledXPath {
+
+  private static final ThreadLocal<XPathFactory> factory = ThreadLocal.withInitial(XPathFactory::newInstance);
+
+  private final String expression;
+  private final ThreadLocal<XPathExpression> compiled;
+
+  private CompiledXPath(String expression, XPathExpression first) {
+    this.expression = expression;
+    this.compiled = new ThreadLocal<>();
+    this.compiled.set(first);
+  }
+
+  /**
+   * @param expression XPath expression
+   * @return the compiled expression
+   * @throws XPathExpressionException if the expression is not valid
+   */
+  public static CompiledXPath compile(String expression) throws XPathExpressionException {
+    return new CompiledXPath(expression, factory.get().newXPath().compile(expression));
+  }
+
+  private XPathExpression expression() {
+    XPathExpression xpath = compiled.get();
+    if (xpath == null) {
+      try {
+        xpath = factory.get().newXPath().compile(expression);
+      } catch (XPathExpressionException e) {
+        // already compiled once
+        throw new IllegalStateException(e);
+      }
+      compiled.set(xpath);
+    }
+    return xpath;
+  }
+
+  /**
+   * @param context Node to evaluate the expression from, usually the document
+   * @return the matched elements as jsoup {@link Elements}; or the text of the matched attributes
+   *         and text nodes, or the value of expressions that don't select nodes (e.g.
+   *         <code>count(//p)</code>), as a String
+   * @throws XPathExpressionException if the evaluation fails
+   */
+  public Object evaluate(Node context) throws XPathExpressionException {
+    NodeList nodes;
+    try {
+      nodes = (NodeList) expression().evaluate(context, XPathConstants.NODESET);
+    } catch (XPathExpressionException e) {
+      // not a node set
+      return expression().evaluate(context, XPathConstants.STRING);
+    }
+
+    List<Element> elements = new ArrayList<>(nodes.getLength());
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < nodes.getLength(); i++) {
+      Node node = nodes.item(i);
+      org.jsoup.nodes.Node source = W3CDomConverter.jsoupNode(node);
+
+      if (source instanceof Element) {
+        elements.add((Element) source);
+      } else if (node.getTextContent() != null) {
+        if (text.length() > 0) {
+          text.append(' ');
+        }
+        text.append(node.getTextContent());
+      }
+    }
+
+    if (elements.isEmpty() && text.length() > 0) {
+      return text.toString();
+    }
+    return new Elements(elements);
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+}
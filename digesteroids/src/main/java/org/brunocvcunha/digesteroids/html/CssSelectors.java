@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import org.apache.log4j.Logger;
+import org.jsoup.select.Evaluator;
+
+/**
+ * Compiles CSS selectors to jsoup {@link Evaluator}s, so they can be parsed once and run many
+ * times with {@link org.jsoup.select.Collector}. The parser of this jsoup version
+ * (<code>QueryParser</code>) is not public, so it is looked up reflectively, once.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class CssSelectors {
+
+  private static Logger log = Logger.getLogger(CssSelectors.class);
+
+  private static final MethodHandle PARSER = lookupParser();
+
+  private CssSelectors() {
+  }
+
+  private static MethodHandle lookupParser() {
+    try {
+      Method parse = Class.forName("org.jsoup.select.QueryParser").getDeclaredMethod("parse", String.class);
+      parse.setAccessible(true);
+      return MethodHandles.lookup().unreflect(parse);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      log.warn("Can not access the jsoup selector parser, the selectors will be parsed on every select", e);
+      return null;
+    }
+  }
+
+  /**
+   * @param query CSS selector
+   * @return the compiled selector, or null if the parser of jsoup is not accessible
+   * @throws org.jsoup.select.Selector.SelectorParseException if the selector is not valid
+   * @throws IllegalArgumentException if the selector is empty
+   */
+  public static Evaluator compile(String query) {
+    if (PARSER == null) {
+      return null;
+    }
+
+    try {
+      return (Evaluator) PARSER.invokeExact(query);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
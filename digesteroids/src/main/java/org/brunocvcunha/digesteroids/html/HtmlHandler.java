@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.Map;
+
+/**
+ * Receives the tokens of a {@link HtmlTokenizer}
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+interface HtmlHandler {
+
+  /**
+   * @param name Lower case tag name
+   * @param attributes Attributes, with lower case names and decoded values
+   * @param selfClosing If the tag is self-closing (e.g. <code>&lt;br/&gt;</code>)
+   */
+  void startTag(String name, Map<String, String> attributes, boolean selfClosing);
+
+  /**
+   * @param name Lower case tag name
+   */
+  void endTag(String name);
+
+  /**
+   * @param text Decoded text
+   */
+  void text(String text);
+
+  /**
+   * @return if the text is needed, otherwise it's skipped without being decoded
+   */
+  boolean wantsText();
+
+  /**
+   * @return if the tokenizer should stop reading
+   */
+  boolean isDone();
+
+}
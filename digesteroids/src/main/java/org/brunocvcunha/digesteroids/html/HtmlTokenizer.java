@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jsoup.parser.Parser;
+
+/**
+ * Minimal streaming HTML tokenizer. It reads the input once, with a fixed size buffer, and reports
+ * tags and text to a {@link HtmlHandler} without building any tree. Comments, doctypes and
+ * processing instructions are skipped, and the content of <code>script</code> and
+ * <code>style</code> is not reported as text.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+class HtmlTokenizer {
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final HtmlHandler handler;
+  private final char[] buffer = new char[8192];
+  private int position;
+  private int limit;
+
+  private final StringBuilder token = new StringBuilder();
+
+  /**
+   * @param reader Input
+   * @param handler Handler of the tokens
+   */
+  HtmlTokenizer(Reader reader, HtmlHandler handler) {
+    this.reader = reader;
+    this.handler = handler;
+  }
+
+  /**
+   * Read the input until the end, or until the handler is done
+   * @throws IOException Error reading the input
+   */
+  void run() throws IOException {
+    while (!handler.isDone()) {
+      int c = peek();
+      if (c == EOF) {
+        return;
+      }
+
+      if (c == '<') {
+        next();
+        readMarkup();
+      } else {
+        readText();
+      }
+    }
+  }
+
+  private void readText() throws IOException {
+    boolean wantsText = handler.wantsText();
+    token.setLength(0);
+
+    int c;
+    while ((c = peek()) != EOF && c != '<') {
+      next();
+      if (wantsText) {
+        token.append((char) c);
+      }
+    }
+
+    if (wantsText && token.length() > 0) {
+      handler.text(decode(token));
+    }
+  }
+
+  private void readMarkup() throws IOException {
+    int c = peek();
+
+    if (c == '!') {
+      next();
+      if (peek() == '-') {
+        next();
+        if (peek() == '-') {
+          next();
+          skipUntil("-->");
+          return;
+        }
+      }
+      skipUntil(">");
+    } else if (c == '?') {
+      skipUntil(">");
+    } else if (c == '/') {
+      next();
+      if (isLetter(peek())) {
+        String name = readName();
+        skipUntil(">");
+        handler.endTag(name);
+      } else {
+        skipUntil(">");
+      }
+    } else if (isLetter(c)) {
+      readStartTag();
+    } else if (handler.wantsText()) {
+      handler.text("<");
+    }
+  }
+
+  private void readStartTag() throws IOException {
+    String name = readName();
+    Map<String, String> attributes = null;
+    boolean selfClosing = false;
+
+    while (true) {
+      skipWhitespace();
+      int c = peek();
+      if (c == EOF) {
+        break;
+      }
+      if (c == '>') {
+        next();
+        break;
+      }
+      if (c == '/') {
+        next();
+        if (peek() == '>') {
+          next();
+          selfClosing = true;
+          break;
+        }
+        continue;
+      }
+
+      String attribute = readAttributeName();
+      String value = "";
+      skipWhitespace();
+      if (peek() == '=') {
+        next();
+        skipWhitespace();
+        value = readAttributeValue();
+      }
+
+      if (attributes == null) {
+        attributes = new LinkedHashMap<>();
+      }
+      attributes.putIfAbsent(attribute, value);
+    }
+
+    handler.startTag(name, attributes == null ? Collections.<String, String> emptyMap() : attributes, selfClosing);
+
+    if (!selfClosing && (name.equals("script") || name.equals("style"))) {
+      skipUntilEndTag(name);
+      handler.endTag(name);
+    }
+  }
+
+  private String readName() throws IOException {
+    token.setLength(0);
+    int c;
+    while ((c = peek()) != EOF && !isWhitespace(c) && c != '>' && c != '/') {
+      next();
+      token.append(Character.toLowerCase((char) c));
+    }
+    return token.toString();
+  }
+
+  private String readAttributeName() throws IOException {
+    token.setLength(0);
+    int c;
+    while ((c = peek()) != EOF && !isWhitespace(c) && c != '>' && c != '/'
+        && (c != '=' || token.length() == 0)) {
+      next();
+      token.append(Character.toLowerCase((char) c));
+    }
+    return token.toString();
+  }
+
+  private String readAttributeValue() throws IOException {
+    token.setLength(0);
+    int quote = peek();
+
+    if (quote == '"' || quote == '\'') {
+      next();
+      int c;
+      while ((c = next()) != EOF && c != quote) {
+        token.append((char) c);
+      }
+    } else {
+      int c;
+      while ((c = peek()) != EOF && !isWhitespace(c) && c != '>') {
+        next();
+        token.append((char) c);
+      }
+    }
+
+    return decode(token);
+  }
+
+  private void skipUntilEndTag(String name) throws IOException {
+    while (true) {
+      skipUntil("</");
+      if (peek() == EOF) {
+        return;
+      }
+
+      boolean matches = true;
+      for (int i = 0; i < name.length() && matches; i++) {
+        int c = peek();
+        matches = c != EOF && Character.toLowerCase((char) c) == name.charAt(i);
+        if (matches) {
+          next();
+        }
+      }
+
+      if (matches && (isWhitespace(peek()) || peek() == '>' || peek() == EOF)) {
+        skipUntil(">");
+        return;
+      }
+    }
+  }
+
+  private void skipUntil(String end) throws IOException {
+    int matched = 0;
+    int c;
+    while (matched < end.length() && (c = next()) != EOF) {
+      // on a mismatch, fall back to the longest match that is still a prefix (e.g. "--->")
+      while (matched > 0 && c != end.charAt(matched)) {
+        matched = border(end, matched);
+      }
+      if (c == end.charAt(matched)) {
+        matched++;
+      }
+    }
+  }
+
+  /**
+   * @param end Text being searched
+   * @param length Length of the matched prefix of the text
+   * @return the length of the longest proper prefix of the text that is also a suffix of the
+   *         matched prefix
+   */
+  private static int border(String end, int length) {
+    for (int k = length - 1; k > 0; k--) {
+      if (end.regionMatches(0, end, length - k, k)) {
+        return k;
+      }
+    }
+    return 0;
+  }
+
+  private void skipWhitespace() throws IOException {
+    while (isWhitespace(peek())) {
+      next();
+    }
+  }
+
+  private static String decode(CharSequence text) {
+    String value = text.toString();
+    if (value.indexOf('&') < 0) {
+      return value;
+    }
+    return Parser.unescapeEntities(value, false);
+  }
+
+  private static boolean isLetter(int c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+  }
+
+  private int peek() throws IOException {
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return EOF;
+      }
+    }
+    return buffer[position];
+  }
+
+  private int next() throws IOException {
+    int c = peek();
+    if (c != EOF) {
+      position++;
+    }
+    return c;
+  }
+
+}
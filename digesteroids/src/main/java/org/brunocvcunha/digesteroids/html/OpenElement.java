@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.Map;
+
+/**
+ * An element in the stack of open elements of the streaming extraction
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+class OpenElement {
+
+  private final String name;
+  private final Map<String, String> attributes;
+  private String[] classes;
+
+  /**
+   * @param name Lower case tag name
+   * @param attributes Attributes, with lower case names
+   */
+  OpenElement(String name, Map<String, String> attributes) {
+    this.name = name;
+    this.attributes = attributes;
+  }
+
+  /**
+   * @return the lower case tag name
+   */
+  String getName() {
+    return name;
+  }
+
+  /**
+   * @param attribute Lower case attribute name
+   * @return the value, or null if the element does not have the attribute
+   */
+  String getAttribute(String attribute) {
+    return attributes.get(attribute);
+  }
+
+  /**
+   * @param className Class name
+   * @return if the element has the class, ignoring case
+   */
+  boolean hasClass(String className) {
+    if (classes == null) {
+      String value = attributes.get("class");
+      classes = value == null || value.trim().isEmpty() ? new String[0] : value.trim().split("\\s+");
+    }
+
+    for (String elementClass : classes) {
+      if (elementClass.equalsIgnoreCase(className)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
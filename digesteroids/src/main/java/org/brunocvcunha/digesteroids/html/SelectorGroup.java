@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.brunocvcunha.digesteroids.FieldMapping;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+/**
+ * The compiled CSS selectors of an entity, evaluated together in a single walk of the document
+ * instead of one walk per field. Each mapping gets the same elements, in the same order, that
+ * {@link org.jsoup.select.Collector#collect(Evaluator, Element)} would return for it.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class SelectorGroup {
+
+  private final List<FieldMapping> mappingList;
+  private final FieldMapping[] mappings;
+  private final Evaluator[] evaluators;
+
+  private SelectorGroup(List<FieldMapping> mappings) {
+    this.mappingList = Collections.unmodifiableList(mappings);
+    this.mappings = mappings.toArray(new FieldMapping[mappings.size()]);
+    this.evaluators = new Evaluator[this.mappings.length];
+    for (int i = 0; i < evaluators.length; i++) {
+      evaluators[i] = this.mappings[i].getCssEvaluator();
+    }
+  }
+
+  /**
+   * @param mappings Mappings of the entity
+   * @return the group with the mappings that are read with a compiled CSS selector, or null if there are
+   *         less than two of them, when a single walk has nothing to save
+   */
+  public static SelectorGroup compile(List<FieldMapping> mappings) {
+    List<FieldMapping> selectors = new ArrayList<>();
+    for (FieldMapping mapping : mappings) {
+      // the XPath references only use the CSS selector as a fallback
+      if (mapping.getCssEvaluator() != null && mapping.getXPath() == null) {
+        selectors.add(mapping);
+      }
+    }
+
+    if (selectors.size() < 2) {
+      return null;
+    }
+    return new SelectorGroup(selectors);
+  }
+
+  /**
+   * @return the mappings of the group
+   */
+  public List<FieldMapping> getMappings() {
+    return mappingList;
+  }
+
+  /**
+   * Walks the element and its descendants once, testing every selector of the group on each
+   * @param root Element to select from
+   * @return the elements selected by each mapping, empty when there is no match
+   */
+  public Map<FieldMapping, Elements> select(final Element root) {
+    final Elements[] selected = new Elements[mappings.length];
+    for (int i = 0; i < selected.length; i++) {
+      selected[i] = new Elements();
+    }
+
+    new NodeTraversor(new NodeVisitor() {
+      @Override
+      public void head(Node node, int depth) {
+        if (node instanceof Element) {
+          Element element = (Element) node;
+          for (int i = 0; i < evaluators.length; i++) {
+            if (evaluators[i].matches(root, element)) {
+              selected[i].add(element);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void tail(Node node, int depth) {
+      }
+    }).traverse(root);
+
+    Map<FieldMapping, Elements> result = new IdentityHashMap<>(mappings.length * 2);
+    for (int i = 0; i < mappings.length; i++) {
+      result.put(mappings[i], selected[i]);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,350 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiled CSS selector that can be matched against the stack of open elements, while streaming.
+ * Supports groups (<code>a, b</code>), the descendant and child combinators, and compound
+ * selectors with type, <code>*</code>, <code>#id</code>, <code>.class</code> and attributes
+ * (<code>[attr]</code>, <code>=</code>, <code>~=</code>, <code>^=</code>, <code>$=</code>,
+ * <code>*=</code>). Pseudo classes and sibling combinators need the whole tree, so they are not
+ * supported.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+final class SimpleSelector {
+
+  private final String query;
+  private final List<Complex> alternatives;
+
+  private SimpleSelector(String query, List<Complex> alternatives) {
+    this.query = query;
+    this.alternatives = alternatives;
+  }
+
+  /**
+   * @param id Element id
+   * @return selector matching the element with the id
+   */
+  static SimpleSelector byId(String id) {
+    Compound compound = new Compound();
+    compound.id = id;
+
+    List<Complex> alternatives = new ArrayList<>();
+    alternatives.add(new Complex(new Compound[] {compound}, new boolean[] {false}));
+    return new SimpleSelector("#" + id, alternatives);
+  }
+
+  /**
+   * @param query CSS query
+   * @return the compiled selector
+   * @throws IllegalArgumentException if the query is not supported
+   */
+  static SimpleSelector parse(String query) {
+    return new SimpleSelector(query, new SelectorParser(query).parse());
+  }
+
+  /**
+   * @param stack Open elements, the last one is the element to match
+   * @return if the last element matches
+   */
+  boolean matches(List<OpenElement> stack) {
+    for (Complex complex : alternatives) {
+      if (complex.matches(stack, complex.compounds.length - 1, stack.size() - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return query;
+  }
+
+  /**
+   * Compound selectors joined by combinators
+   */
+  private static class Complex {
+    private final Compound[] compounds;
+
+    /**
+     * If the compound must be a child of the previous one, instead of a descendant
+     */
+    private final boolean[] child;
+
+    Complex(Compound[] compounds, boolean[] child) {
+      this.compounds = compounds;
+      this.child = child;
+    }
+
+    boolean matches(List<OpenElement> stack, int compoundIndex, int stackIndex) {
+      if (!compounds[compoundIndex].matches(stack.get(stackIndex))) {
+        return false;
+      }
+      if (compoundIndex == 0) {
+        return true;
+      }
+
+      if (child[compoundIndex]) {
+        return stackIndex > 0 && matches(stack, compoundIndex - 1, stackIndex - 1);
+      }
+
+      for (int ancestor = stackIndex - 1; ancestor >= 0; ancestor--) {
+        if (matches(stack, compoundIndex - 1, ancestor)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Conditions on a single element
+   */
+  private static class Compound {
+    private String tag;
+    private String id;
+    private final List<String> classes = new ArrayList<>();
+    private final List<AttributeCondition> attributes = new ArrayList<>();
+
+    boolean matches(OpenElement element) {
+      if (tag != null && !tag.equals(element.getName())) {
+        return false;
+      }
+      if (id != null && !id.equals(element.getAttribute("id"))) {
+        return false;
+      }
+      for (String className : classes) {
+        if (!element.hasClass(className)) {
+          return false;
+        }
+      }
+      for (AttributeCondition condition : attributes) {
+        if (!condition.matches(element.getAttribute(condition.name))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Condition on an attribute value, compared ignoring case
+   */
+  private static class AttributeCondition {
+    private final String name;
+    private final String operator;
+    private final String value;
+
+    AttributeCondition(String name, String operator, String value) {
+      this.name = name;
+      this.operator = operator;
+      this.value = value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    boolean matches(String attribute) {
+      if (attribute == null) {
+        return false;
+      }
+      if (operator == null) {
+        return true;
+      }
+
+      String actual = attribute.toLowerCase(Locale.ROOT);
+      switch (operator) {
+        case "=":
+          return actual.equals(value);
+        case "~=":
+          for (String word : actual.trim().split("\\s+")) {
+            if (word.equals(value)) {
+              return true;
+            }
+          }
+          return false;
+        case "^=":
+          return actual.startsWith(value);
+        case "$=":
+          return actual.endsWith(value);
+        default:
+          return actual.contains(value);
+      }
+    }
+  }
+
+  /**
+   * Recursive descent parser of the supported selectors
+   */
+  private static class SelectorParser {
+    private final String query;
+    private int position;
+
+    SelectorParser(String query) {
+      this.query = query;
+    }
+
+    List<Complex> parse() {
+      List<Complex> alternatives = new ArrayList<>();
+      do {
+        alternatives.add(complex());
+        skipWhitespace();
+      } while (consume(','));
+
+      if (position < query.length()) {
+        throw unsupported();
+      }
+      return alternatives;
+    }
+
+    private Complex complex() {
+      List<Compound> compounds = new ArrayList<>();
+      List<Boolean> child = new ArrayList<>();
+
+      skipWhitespace();
+      compounds.add(compound());
+      child.add(false);
+
+      while (true) {
+        boolean whitespace = skipWhitespace();
+        if (consume('>')) {
+          skipWhitespace();
+          compounds.add(compound());
+          child.add(true);
+        } else if (whitespace && position < query.length() && query.charAt(position) != ',') {
+          compounds.add(compound());
+          child.add(false);
+        } else {
+          break;
+        }
+      }
+
+      boolean[] childArray = new boolean[child.size()];
+      for (int i = 0; i < childArray.length; i++) {
+        childArray[i] = child.get(i);
+      }
+      return new Complex(compounds.toArray(new Compound[compounds.size()]), childArray);
+    }
+
+    private Compound compound() {
+      Compound compound = new Compound();
+      int start = position;
+
+      if (consume('*')) {
+        compound.tag = null;
+      } else if (position < query.length() && isNameChar(query.charAt(position))) {
+        compound.tag = name().toLowerCase(Locale.ROOT);
+      }
+
+      while (position < query.length()) {
+        if (consume('#')) {
+          compound.id = name();
+        } else if (consume('.')) {
+          compound.classes.add(name());
+        } else if (consume('[')) {
+          compound.attributes.add(attribute());
+        } else {
+          break;
+        }
+      }
+
+      if (position == start) {
+        throw unsupported();
+      }
+      return compound;
+    }
+
+    private AttributeCondition attribute() {
+      skipWhitespace();
+      String name = name().toLowerCase(Locale.ROOT);
+      skipWhitespace();
+
+      String operator = null;
+      String value = null;
+      if (!consume(']')) {
+        for (String candidate : new String[] {"=", "~=", "^=", "$=", "*="}) {
+          if (query.startsWith(candidate, position)) {
+            operator = candidate;
+          }
+        }
+        if (operator == null) {
+          throw unsupported();
+        }
+        position += operator.length();
+        skipWhitespace();
+        value = value();
+        skipWhitespace();
+        if (!consume(']')) {
+          throw unsupported();
+        }
+      }
+      return new AttributeCondition(name, operator, value);
+    }
+
+    private String value() {
+      if (position < query.length() && (query.charAt(position) == '"' || query.charAt(position) == '\'')) {
+        char quote = query.charAt(position++);
+        int end = query.indexOf(quote, position);
+        if (end < 0) {
+          throw unsupported();
+        }
+        String value = query.substring(position, end);
+        position = end + 1;
+        return value;
+      }
+      return name();
+    }
+
+    private String name() {
+      int start = position;
+      while (position < query.length() && isNameChar(query.charAt(position))) {
+        position++;
+      }
+      if (start == position) {
+        throw unsupported();
+      }
+      return query.substring(start, position);
+    }
+
+    private static boolean isNameChar(char c) {
+      return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    private boolean skipWhitespace() {
+      int start = position;
+      while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+        position++;
+      }
+      return position > start;
+    }
+
+    private boolean consume(char c) {
+      if (position < query.length() && query.charAt(position) == c) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private IllegalArgumentException unsupported() {
+      return new IllegalArgumentException("Selector not supported in streaming mode: " + query);
+    }
+  }
+
+}
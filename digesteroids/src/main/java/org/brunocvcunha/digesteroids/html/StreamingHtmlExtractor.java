@@ -0,0 +1,363 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.brunocvcunha.digesteroids.FieldMapping;
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+
+/**
+ * Extracts the values of <code>HTML_ID</code> and <code>HTML_CSS</code> mappings while tokenizing
+ * the HTML, without building the document. Only the stack of open elements is kept, and the
+ * reading stops as soon as all the fields are found.
+ * <p>
+ * Each field takes its value from the first element that matches (an attribute mapping, from the
+ * first that has the attribute), where the DOM based resolution joins the text of all of them.
+ * The CSS selectors are restricted to what can be matched against the open elements, see
+ * {@link SimpleSelector}. The tree building rules of HTML are approximated: void elements,
+ * unclosed elements and the implied end tags of <code>p</code>, <code>li</code>, table cells and
+ * rows, definition items and options are handled.
+ * <p>
+ * Instances are immutable and can be shared; each extraction keeps its own state.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class StreamingHtmlExtractor {
+
+  private static final Set<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList("area", "base",
+      "br", "col", "embed", "hr", "img", "input", "keygen", "link", "meta", "param", "source",
+      "track", "wbr"));
+
+  private static final Set<String> BLOCK_ELEMENTS = new HashSet<>(Arrays.asList("html", "head",
+      "body", "section", "nav", "aside", "hgroup", "header", "footer", "main", "article", "p", "h1",
+      "h2", "h3", "h4", "h5", "h6", "ul", "ol", "pre", "div", "blockquote", "hr", "address",
+      "figure", "figcaption", "form", "fieldset", "dl", "dt", "dd", "li", "table", "caption",
+      "thead", "tfoot", "tbody", "tr", "th", "td", "title", "details", "menu", "noscript"));
+
+  private static final Set<String> CLOSES_P = new HashSet<>(Arrays.asList("address", "article",
+      "aside", "blockquote", "div", "dl", "fieldset", "footer", "form", "h1", "h2", "h3", "h4",
+      "h5", "h6", "header", "hr", "menu", "nav", "ol", "p", "pre", "section", "table", "ul"));
+
+  private static final Map<String, Set<String>> CLOSED_BY = new HashMap<>();
+  private static final Map<String, Set<String>> SCOPES = new HashMap<>();
+
+  static {
+    implies("li", Arrays.asList("li"), Arrays.asList("ul", "ol"));
+    implies("dt", Arrays.asList("dt", "dd"), Arrays.asList("dl"));
+    implies("dd", Arrays.asList("dt", "dd"), Arrays.asList("dl"));
+    implies("tr", Arrays.asList("tr"), Arrays.asList("table", "thead", "tbody", "tfoot"));
+    implies("td", Arrays.asList("td", "th"), Arrays.asList("tr", "table"));
+    implies("th", Arrays.asList("td", "th"), Arrays.asList("tr", "table"));
+    implies("thead", Arrays.asList("thead", "tbody", "tfoot"), Arrays.asList("table"));
+    implies("tbody", Arrays.asList("thead", "tbody", "tfoot"), Arrays.asList("table"));
+    implies("tfoot", Arrays.asList("thead", "tbody", "tfoot"), Arrays.asList("table"));
+    implies("option", Arrays.asList("option"), Arrays.asList("select", "datalist", "optgroup"));
+  }
+
+  private static void implies(String tag, List<String> closes, List<String> scope) {
+    CLOSED_BY.put(tag, new HashSet<>(closes));
+    SCOPES.put(tag, new HashSet<>(scope));
+  }
+
+  private final List<Target> targets;
+
+  private StreamingHtmlExtractor(List<Target> targets) {
+    this.targets = targets;
+  }
+
+  /**
+   * @param mappings Mappings of an entity
+   * @return the extractor for the mappings
+   * @throws IllegalArgumentException if any of the mappings can not be streamed
+   */
+  public static StreamingHtmlExtractor compile(List<FieldMapping> mappings) {
+    List<Target> targets = new ArrayList<>();
+
+    for (FieldMapping mapping : mappings) {
+      if (mapping.getRefType() == ReferenceTypeEnum.HARDCODE) {
+        continue;
+      }
+
+      if (mapping.getRefType() != ReferenceTypeEnum.HTML_ID && mapping.getRefType() != ReferenceTypeEnum.HTML_CSS) {
+        throw new IllegalArgumentException("Reference type not supported in streaming mode: " + mapping);
+      }
+      if (mapping.isCollection()) {
+        throw new IllegalArgumentException("Collections are not supported in streaming mode: " + mapping);
+      }
+      if (mapping.getTextNode() < 0 && !mapping.isHtmlText() && mapping.getAttribute().isEmpty()) {
+        throw new IllegalArgumentException("Streaming mode can only read text and attributes: " + mapping);
+      }
+
+      SimpleSelector selector = mapping.getRefType() == ReferenceTypeEnum.HTML_ID
+          ? SimpleSelector.byId(mapping.getValue()) : SimpleSelector.parse(mapping.getValue());
+      targets.add(new Target(mapping, selector));
+    }
+
+    return new StreamingHtmlExtractor(Collections.unmodifiableList(targets));
+  }
+
+  /**
+   * Read the HTML until all the fields are found or the input ends. The reader is not closed.
+   * @param reader Reader with the HTML
+   * @return the values found, by mapping
+   * @throws IOException Error reading the input
+   */
+  public Map<FieldMapping, String> extract(Reader reader) throws IOException {
+    Extraction extraction = new Extraction();
+    new HtmlTokenizer(reader, extraction).run();
+    return extraction.finish();
+  }
+
+  /**
+   * A field to extract
+   */
+  private static class Target {
+    private final FieldMapping mapping;
+    private final SimpleSelector selector;
+    private final String attribute;
+
+    Target(FieldMapping mapping, SimpleSelector selector) {
+      this.mapping = mapping;
+      this.selector = selector;
+      this.attribute = mapping.getAttribute().toLowerCase(Locale.ROOT);
+    }
+
+    boolean readsAttribute() {
+      return mapping.getTextNode() < 0 && !mapping.isHtmlText();
+    }
+  }
+
+  /**
+   * A matched element, whose text is being collected until it's closed
+   */
+  private static class Capture {
+    private final int target;
+    private final int depth;
+    private final OpenElement element;
+    private final StringBuilder text = new StringBuilder();
+    private int ownTextNodes;
+
+    Capture(int target, int depth, OpenElement element) {
+      this.target = target;
+      this.depth = depth;
+      this.element = element;
+    }
+  }
+
+  /**
+   * State of a single extraction
+   */
+  private class Extraction implements HtmlHandler {
+    private final List<OpenElement> stack = new ArrayList<>();
+    private final List<Capture> captures = new ArrayList<>();
+    private final String[] values = new String[targets.size()];
+    private final boolean[] found = new boolean[targets.size()];
+    private final boolean[] capturing = new boolean[targets.size()];
+    private int remaining = targets.size();
+
+    @Override
+    public void startTag(String name, Map<String, String> attributes, boolean selfClosing) {
+      closeImplied(name);
+
+      if (BLOCK_ELEMENTS.contains(name) || name.equals("br")) {
+        for (Capture capture : captures) {
+          if (capture.text.length() > 0 && capture.text.charAt(capture.text.length() - 1) != ' ') {
+            capture.text.append(' ');
+          }
+        }
+      }
+
+      OpenElement element = new OpenElement(name, attributes);
+      stack.add(element);
+      match(element);
+
+      if (selfClosing || VOID_ELEMENTS.contains(name)) {
+        pop();
+      }
+    }
+
+    @Override
+    public void endTag(String name) {
+      for (int i = stack.size() - 1; i >= 0; i--) {
+        if (stack.get(i).getName().equals(name)) {
+          while (stack.size() > i) {
+            pop();
+          }
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void text(String text) {
+      for (int i = captures.size() - 1; i >= 0; i--) {
+        Capture capture = captures.get(i);
+        appendNormalised(capture.text, text);
+
+        int textNode = targets.get(capture.target).mapping.getTextNode();
+        if (textNode >= 0 && capture.depth == stack.size() && !text.trim().isEmpty()
+            && capture.ownTextNodes++ == textNode) {
+          StringBuilder normalised = new StringBuilder();
+          appendNormalised(normalised, text);
+          complete(capture, normalised.toString().trim());
+        }
+      }
+    }
+
+    @Override
+    public boolean wantsText() {
+      return !captures.isEmpty();
+    }
+
+    @Override
+    public boolean isDone() {
+      return remaining == 0;
+    }
+
+    private void match(OpenElement element) {
+      for (int i = 0; i < targets.size(); i++) {
+        if (found[i] || capturing[i]) {
+          continue;
+        }
+
+        Target target = targets.get(i);
+        if (!target.selector.matches(stack)) {
+          continue;
+        }
+
+        if (target.readsAttribute()) {
+          String value = element.getAttribute(target.attribute);
+          if (value != null || target.mapping.getRefType() == ReferenceTypeEnum.HTML_ID) {
+            found(i, value == null ? "" : value);
+          }
+        } else {
+          captures.add(new Capture(i, stack.size(), element));
+          capturing[i] = true;
+        }
+      }
+    }
+
+    private void closeImplied(String name) {
+      if (CLOSES_P.contains(name) && !stack.isEmpty() && stack.get(stack.size() - 1).getName().equals("p")) {
+        pop();
+      }
+
+      Set<String> closes = CLOSED_BY.get(name);
+      if (closes == null) {
+        return;
+      }
+
+      Set<String> scope = SCOPES.get(name);
+      for (int i = stack.size() - 1; i >= 0; i--) {
+        String open = stack.get(i).getName();
+        if (closes.contains(open)) {
+          while (stack.size() > i) {
+            pop();
+          }
+          return;
+        }
+        if (scope.contains(open)) {
+          return;
+        }
+      }
+    }
+
+    private void pop() {
+      int depth = stack.size();
+      for (int i = captures.size() - 1; i >= 0; i--) {
+        Capture capture = captures.get(i);
+        if (capture.depth == depth) {
+          complete(capture, fallbackValue(capture));
+        }
+      }
+      stack.remove(depth - 1);
+    }
+
+    /**
+     * @return the value when the element is closed: the text, or the attribute when the text node
+     *         was not found
+     */
+    private String fallbackValue(Capture capture) {
+      Target target = targets.get(capture.target);
+      if (target.mapping.isHtmlText()) {
+        return capture.text.toString().trim();
+      }
+      if (!target.attribute.isEmpty()) {
+        String value = capture.element.getAttribute(target.attribute);
+        return value == null ? "" : value;
+      }
+      return null;
+    }
+
+    private void complete(Capture capture, String value) {
+      captures.remove(capture);
+      capturing[capture.target] = false;
+      found(capture.target, value);
+    }
+
+    private void found(int target, String value) {
+      values[target] = value;
+      found[target] = true;
+      remaining--;
+    }
+
+    Map<FieldMapping, String> finish() {
+      for (Capture capture : new ArrayList<>(captures)) {
+        complete(capture, fallbackValue(capture));
+      }
+
+      Map<FieldMapping, String> result = new HashMap<>();
+      for (int i = 0; i < targets.size(); i++) {
+        if (found[i] && values[i] != null) {
+          result.put(targets.get(i).mapping, values[i]);
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Append the text collapsing the whitespace, the same way jsoup's <code>Element.text()</code>
+   * does
+   */
+  private static void appendNormalised(StringBuilder builder, String text) {
+    boolean lastWasWhite = builder.length() == 0 || builder.charAt(builder.length() - 1) == ' ';
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+        if (!lastWasWhite) {
+          builder.append(' ');
+          lastWasWhite = true;
+        }
+      } else {
+        builder.append(c);
+        lastWasWhite = false;
+      }
+    }
+  }
+
+}
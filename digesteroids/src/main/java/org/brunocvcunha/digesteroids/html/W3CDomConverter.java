@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Comment;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+
+/**
+ * Converts jsoup elements to W3C DOM documents, so they can be queried with
+ * {@link javax.xml.xpath}. The elements are created without namespaces, so XPath expressions use
+ * the plain tag names, and each W3C node keeps a reference to the jsoup node it came from.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class W3CDomConverter {
+
+  /**
+   * User data key of the jsoup node in the W3C nodes
+   */
+  private static final String JSOUP_NODE = "digesteroids.jsoup";
+
+  private static final ThreadLocal<DocumentBuilderFactory> factory = ThreadLocal.withInitial(DocumentBuilderFactory::newInstance);
+
+  private W3CDomConverter() {
+  }
+
+  /**
+   * @param root jsoup element or document to convert
+   * @return the W3C document. Tags or attributes that are not valid XML names are left out (the
+   *         content of such tags is kept)
+   */
+  public static Document convert(Element root) {
+    Document document;
+    try {
+      document = factory.get().newDocumentBuilder().newDocument();
+    } catch (ParserConfigurationException e) {
+      throw new IllegalStateException(e);
+    }
+
+    Builder builder = new Builder(document);
+    if (root instanceof org.jsoup.nodes.Document) {
+      // a W3C document has only one root element
+      for (Node child : root.childNodes()) {
+        if (child instanceof Element) {
+          new NodeTraversor(builder).traverse(child);
+          break;
+        }
+      }
+    } else {
+      new NodeTraversor(builder).traverse(root);
+    }
+
+    return document;
+  }
+
+  /**
+   * @param node W3C node created by {@link #convert(Element)}
+   * @return the jsoup node it came from, or null
+   */
+  public static Node jsoupNode(org.w3c.dom.Node node) {
+    return (Node) node.getUserData(JSOUP_NODE);
+  }
+
+  /**
+   * Appends the visited jsoup nodes to the W3C document
+   */
+  private static class Builder implements NodeVisitor {
+    private final Document document;
+    private final Deque<org.w3c.dom.Node> parents = new ArrayDeque<>();
+
+    Builder(Document document) {
+      this.document = document;
+      parents.push(document);
+    }
+
+    @Override
+    public void head(Node source, int depth) {
+      org.w3c.dom.Node parent = parents.peek();
+
+      if (source instanceof Element) {
+        Element element = (Element) source;
+        org.w3c.dom.Element created;
+        try {
+          created = document.createElement(element.tagName());
+        } catch (DOMException e) {
+          // invalid tag name, its content goes to the parent
+          parents.push(parent);
+          return;
+        }
+
+        for (Attribute attribute : element.attributes()) {
+          try {
+            created.setAttribute(attribute.getKey(), attribute.getValue());
+          } catch (DOMException e) {
+            // invalid attribute name, left out
+          }
+        }
+
+        created.setUserData(JSOUP_NODE, element, null);
+        parent.appendChild(created);
+        parents.push(created);
+        return;
+      }
+
+      if (parent == document) {
+        return;
+      }
+
+      org.w3c.dom.Node created = null;
+      if (source instanceof TextNode) {
+        created = document.createTextNode(((TextNode) source).getWholeText());
+      } else if (source instanceof DataNode) {
+        created = document.createTextNode(((DataNode) source).getWholeData());
+      } else if (source instanceof Comment) {
+        created = document.createComment(((Comment) source).getData());
+      }
+
+      if (created != null) {
+        created.setUserData(JSOUP_NODE, source, null);
+        parent.appendChild(created);
+      }
+    }
+
+    @Override
+    public void tail(Node source, int depth) {
+      if (source instanceof Element) {
+        parents.pop();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+import org.jsoup.Jsoup;
+
+/**
+ * HTML documents, parsed by jsoup. The charset is the declared one, the one of the byte order mark
+ * or, when there is none, the one in the <code>meta</code> tags of the document.
+ * <p>
+ * jsoup only parses Strings, so the HTML inputs are not zero-copy: the bytes of array and buffer
+ * sources (e.g. mapped files) are decoded directly into a {@link CharBuffer}, and copied once to
+ * the String jsoup parses. Stream sources are handed to jsoup, that first reads them into a byte
+ * array.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class HtmlInputFormat implements InputFormat {
+
+  /**
+   * Number of bytes in the start of the document looked for the <code>meta</code> charset
+   */
+  private static final int META_LOOKAHEAD = 1024;
+
+  private static final Pattern META_CHARSET = Pattern.compile(
+      "<meta[^>]*charset\\s*=\\s*[\"']?\\s*([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+  @Override
+  public String getName() {
+    return InputFormats.HTML;
+  }
+
+  @Override
+  public Object parse(InputSource input, DigesteroidsCaster caster) throws IOException {
+    ByteBuffer buffer = input.getBuffer();
+    if (buffer == null) {
+      InputStream in = input.openStream();
+      Charset charset = input.detectCharset(in, null);
+      return Jsoup.parse(in, charset == null ? null : charset.name(), "");
+    }
+
+    // moves the buffer after the byte order mark
+    Charset charset = input.detectCharset(new ByteBufferInputStream(buffer), null);
+    if (charset == null) {
+      charset = metaCharset(buffer);
+    }
+
+    CharBuffer text = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+        .decode(buffer);
+    return Jsoup.parse(text.toString(), "");
+  }
+
+  /**
+   * @param buffer Bytes of the document, not moved
+   * @return the charset in the <code>meta</code> tags of the start of the document, or UTF-8
+   */
+  private static Charset metaCharset(ByteBuffer buffer) {
+    byte[] head = new byte[Math.min(META_LOOKAHEAD, buffer.remaining())];
+    buffer.duplicate().get(head);
+
+    Matcher matcher = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+    if (matcher.find()) {
+      try {
+        return Charset.forName(matcher.group(1));
+      } catch (IllegalArgumentException e) {
+        // unknown charset, use the default
+      }
+    }
+    return StandardCharsets.UTF_8;
+  }
+
+}
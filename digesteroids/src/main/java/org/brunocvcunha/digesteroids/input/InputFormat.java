@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import java.io.IOException;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+
+/**
+ * Format of the raw inputs, that parses them into the data a conversion reads: a map for the
+ * NORMAL and JSON_PATH mappings, or a HTML element for the HTML ones. Custom formats (e.g. CSV or
+ * XML) are registered in {@link InputFormats}.
+ * <p>
+ * Formats are shared by all the conversions, so they must be thread-safe.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public interface InputFormat {
+
+  /**
+   * @return the name of the format, used to look it up in {@link InputFormats}
+   */
+  String getName();
+
+  /**
+   * @param input Raw input
+   * @param caster The caster of the conversion
+   * @return the parsed data, a {@link java.util.Map}, a {@link org.jsoup.nodes.Element} or any
+   *         other object the caster can read
+   * @throws IOException if the input can not be read or parsed
+   */
+  Object parse(InputSource input, DigesteroidsCaster caster) throws IOException;
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the {@link InputFormat}s, by name. The JSON, HTML and Properties formats are always
+ * registered.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class InputFormats {
+
+  /**
+   * Name of the JSON format
+   */
+  public static final String JSON = "json";
+
+  /**
+   * Name of the HTML format
+   */
+  public static final String HTML = "html";
+
+  /**
+   * Name of the Properties format
+   */
+  public static final String PROPERTIES = "properties";
+
+  private static final ConcurrentMap<String, InputFormat> formats = new ConcurrentHashMap<>();
+
+  static {
+    register(new JsonInputFormat());
+    register(new HtmlInputFormat());
+    register(new PropertiesInputFormat());
+  }
+
+  private InputFormats() {
+  }
+
+  /**
+   * Registers the format, replacing the one with the same name
+   * @param format Format to register
+   */
+  public static void register(InputFormat format) {
+    formats.put(format.getName().toLowerCase(Locale.ROOT), format);
+  }
+
+  /**
+   * @param name Name of the format, case insensitive
+   * @return the format
+   * @throws IllegalArgumentException if there is no format with the name
+   */
+  public static InputFormat get(String name) {
+    InputFormat format = formats.get(name.toLowerCase(Locale.ROOT));
+    if (format == null) {
+      throw new IllegalArgumentException("Input format not registered: " + name);
+    }
+    return format;
+  }
+
+}
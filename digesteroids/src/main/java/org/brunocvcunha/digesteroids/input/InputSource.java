@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Raw input of a conversion: bytes in an array, a {@link ByteBuffer} (e.g. a memory-mapped file)
+ * or a stream, that the {@link InputFormat}s read directly, without decoding them to a String
+ * first. The charset is the declared one, or detected from the byte order mark or, for the
+ * UTF-16 and UTF-32 encodings without it, from the pattern of zero bytes in the start of the
+ * text.
+ * <p>
+ * Sources of arrays and buffers can be read more than once, sources of streams only once. A source
+ * is not thread-safe.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class InputSource {
+
+  private static final Charset UTF_32BE = Charset.forName("UTF-32BE");
+  private static final Charset UTF_32LE = Charset.forName("UTF-32LE");
+
+  private final ByteBuffer buffer;
+  private InputStream stream;
+  private final Charset charset;
+
+  private InputSource(ByteBuffer buffer, InputStream stream, Charset charset) {
+    this.buffer = buffer;
+    this.stream = stream;
+    this.charset = charset;
+  }
+
+  /**
+   * @param bytes Bytes of the input, not copied
+   * @return the source
+   */
+  public static InputSource of(byte[] bytes) {
+    return of(bytes, null);
+  }
+
+  /**
+   * @param bytes Bytes of the input, not copied
+   * @param charset Charset of the text, or null to detect it
+   * @return the source
+   */
+  public static InputSource of(byte[] bytes, Charset charset) {
+    return new InputSource(ByteBuffer.wrap(bytes), null, charset);
+  }
+
+  /**
+   * @param buffer Buffer with the input in its remaining bytes, not copied nor moved
+   * @return the source
+   */
+  public static InputSource of(ByteBuffer buffer) {
+    return of(buffer, null);
+  }
+
+  /**
+   * @param buffer Buffer with the input in its remaining bytes, not copied nor moved
+   * @param charset Charset of the text, or null to detect it
+   * @return the source
+   */
+  public static InputSource of(ByteBuffer buffer, Charset charset) {
+    return new InputSource(buffer.duplicate(), null, charset);
+  }
+
+  /**
+   * @param stream Stream with the input, not closed
+   * @return the source
+   */
+  public static InputSource of(InputStream stream) {
+    return of(stream, null);
+  }
+
+  /**
+   * @param stream Stream with the input, not closed
+   * @param charset Charset of the text, or null to detect it
+   * @return the source
+   */
+  public static InputSource of(InputStream stream, Charset charset) {
+    return new InputSource(null, stream.markSupported() ? stream : new BufferedInputStream(stream), charset);
+  }
+
+  /**
+   * Maps the file to memory, so it is read by the operating system as it's parsed, without
+   * loading it into the heap
+   * @param file File to read
+   * @return the source
+   * @throws IOException if the file can not be mapped
+   */
+  public static InputSource map(Path file) throws IOException {
+    return map(file, null);
+  }
+
+  /**
+   * @param file File to read
+   * @param charset Charset of the text, or null to detect it
+   * @return the source
+   * @throws IOException if the file can not be mapped
+   * @see #map(Path)
+   */
+  public static InputSource map(Path file, Charset charset) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new InputSource(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), null, charset);
+    }
+  }
+
+  /**
+   * @return the declared charset, or null if it should be detected
+   */
+  public Charset getCharset() {
+    return charset;
+  }
+
+  /**
+   * @return the buffer with the input, or null if it's a stream source
+   */
+  public ByteBuffer getBuffer() {
+    return buffer == null ? null : buffer.duplicate();
+  }
+
+  /**
+   * @return stream with the input bytes, supporting mark and reset
+   * @throws IllegalStateException if it's a stream source that was already opened
+   */
+  public InputStream openStream() {
+    if (buffer != null) {
+      return new ByteBufferInputStream(buffer.duplicate());
+    }
+    if (stream == null) {
+      throw new IllegalStateException("The stream of the input was already read");
+    }
+
+    InputStream opened = stream;
+    stream = null;
+    return opened;
+  }
+
+  /**
+   * @param fallback Charset used when it's not declared nor detected
+   * @return reader of the text, after the byte order mark
+   * @throws IOException if the input can not be read
+   */
+  public Reader openReader(Charset fallback) throws IOException {
+    InputStream in = openStream();
+    Charset detected = detectCharset(in, fallback);
+    return new InputStreamReader(in, detected);
+  }
+
+  /**
+   * Detects the charset in the start of the stream, skipping the byte order mark if there is one
+   * @param in Stream positioned in the start of the input, supporting mark and reset
+   * @param fallback Charset used when it's not declared nor detected
+   * @return the declared or detected charset, or the fallback
+   * @throws IOException if the input can not be read
+   */
+  public Charset detectCharset(InputStream in, Charset fallback) throws IOException {
+    byte[] head = new byte[4];
+    in.mark(head.length);
+    int length = 0;
+    int read;
+    while (length < head.length && (read = in.read(head, length, head.length - length)) > 0) {
+      length += read;
+    }
+    in.reset();
+
+    Charset detected = null;
+    int bom = 0;
+    if (length >= 4 && head[0] == 0 && head[1] == 0 && (head[2] & 0xFF) == 0xFE && (head[3] & 0xFF) == 0xFF) {
+      detected = UTF_32BE;
+      bom = 4;
+    } else if (length >= 4 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE && head[2] == 0 && head[3] == 0) {
+      detected = UTF_32LE;
+      bom = 4;
+    } else if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+      detected = StandardCharsets.UTF_8;
+      bom = 3;
+    } else if (length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+      detected = StandardCharsets.UTF_16BE;
+      bom = 2;
+    } else if (length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+      detected = StandardCharsets.UTF_16LE;
+      bom = 2;
+    } else if (length >= 4 && charset == null) {
+      // the first characters of a text are ASCII, so the zero bytes tell the encoding
+      if (head[0] == 0 && head[1] == 0 && head[2] == 0 && head[3] != 0) {
+        detected = UTF_32BE;
+      } else if (head[0] != 0 && head[1] == 0 && head[2] == 0 && head[3] == 0) {
+        detected = UTF_32LE;
+      } else if (head[0] == 0 && head[1] != 0 && head[2] == 0 && head[3] != 0) {
+        detected = StandardCharsets.UTF_16BE;
+      } else if (head[0] != 0 && head[1] == 0 && head[2] != 0 && head[3] == 0) {
+        detected = StandardCharsets.UTF_16LE;
+      }
+    }
+
+    for (int i = 0; i < bom; i++) {
+      in.read();
+    }
+
+    if (charset != null) {
+      return charset;
+    }
+    return detected != null ? detected : fallback;
+  }
+
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+
+/**
+ * JSON objects, decoded while they are parsed, UTF-8 unless declared or detected otherwise.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class JsonInputFormat implements InputFormat {
+
+  @Override
+  public String getName() {
+    return InputFormats.JSON;
+  }
+
+  @Override
+  public Object parse(InputSource input, DigesteroidsCaster caster) throws IOException {
+    Reader reader = input.openReader(StandardCharsets.UTF_8);
+    return caster.map(new JsonReader(reader));
+  }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+
+/**
+ * Properties files, ISO-8859-1 unless declared or detected otherwise.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public class PropertiesInputFormat implements InputFormat {
+
+  @Override
+  public String getName() {
+    return InputFormats.PROPERTIES;
+  }
+
+  @Override
+  public Object parse(InputSource input, DigesteroidsCaster caster) throws IOException {
+    Properties properties = new Properties();
+    properties.load(input.openReader(StandardCharsets.ISO_8859_1));
+    return properties;
+  }
+
+}
@@ -16,18 +16,21 @@
 package org.brunocvcunha.digesteroids.rule;
 
 /**
- * Interface that allows complex rules in the digester
+ * Interface that allows complex rules in the digester, receiving the String representation of the
+ * value. Use {@link TypedDigesterRule} to receive the value as it is. Instances are shared by the
+ * threads in the same way, see {@link TypedDigesterRule}.
  * @author brunovolpato
  *
  */
 @FunctionalInterface
-public interface DigesterRule<T> {
+public interface DigesterRule<T> extends TypedDigesterRule<String, T> {
 
   /**
    * Converts value into another
    * @param value input
    * @return output
    */
+  @Override
   T apply(String value);
   
 }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.rule;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+
+/**
+ * Ordered rules of a mapping, each one receiving the output of the previous one. The input type
+ * of each rule is found once, when the chain is built: a {@link DigesterRule} receives the
+ * <code>toString()</code> of the value, and a {@link TypedDigesterRule} receives the value cast
+ * to its input type, or the value itself when it's already an instance of it.
+ * <p>
+ * Instances are immutable and safe for concurrent use.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class RuleChain {
+
+  private final TypedDigesterRule<Object, Object>[] rules;
+  private final Class<?>[] inputTypes;
+  private final List<TypedDigesterRule<?, ?>> ruleList;
+
+  @SuppressWarnings("unchecked")
+  private RuleChain(List<TypedDigesterRule<?, ?>> rules) {
+    this.ruleList = Collections.unmodifiableList(new ArrayList<>(rules));
+    this.rules = new TypedDigesterRule[rules.size()];
+    this.inputTypes = new Class<?>[rules.size()];
+    for (int i = 0; i < this.rules.length; i++) {
+      this.rules[i] = (TypedDigesterRule<Object, Object>) rules.get(i);
+      this.inputTypes[i] = inputType(rules.get(i));
+    }
+  }
+
+  /**
+   * @param rules Rules, in the order they are applied. Null elements are ignored
+   * @return the chain, or null if there are no rules
+   */
+  public static RuleChain of(List<? extends TypedDigesterRule<?, ?>> rules) {
+    List<TypedDigesterRule<?, ?>> list = new ArrayList<>();
+    if (rules != null) {
+      for (TypedDigesterRule<?, ?> rule : rules) {
+        if (rule != null) {
+          list.add(rule);
+        }
+      }
+    }
+
+    if (list.isEmpty()) {
+      return null;
+    }
+    return new RuleChain(list);
+  }
+
+  /**
+   * @param value Value to convert
+   * @param caster Caster used to convert the value to the input type of the typed rules
+   * @return the output of the last rule, or null if a rule returned null
+   */
+  public Object apply(Object value, DigesteroidsCaster caster) {
+    for (int i = 0; i < rules.length && value != null; i++) {
+      Class<?> inputType = inputTypes[i];
+      if (!inputType.isInstance(value)) {
+        value = inputType == String.class ? value.toString() : caster.cast(value, inputType);
+      }
+      value = rules[i].apply(value);
+    }
+    return value;
+  }
+
+  /**
+   * @return the rules, in the order they are applied
+   */
+  public List<TypedDigesterRule<?, ?>> getRules() {
+    return ruleList;
+  }
+
+  /**
+   * @param rule Rule to inspect
+   * @return the type the rule declares as input, or Object if it can not be resolved
+   */
+  private static Class<?> inputType(TypedDigesterRule<?, ?> rule) {
+    if (rule instanceof DigesterRule) {
+      return String.class;
+    }
+
+    Type input = findInputType(rule.getClass());
+    if (input == null) {
+      return Object.class;
+    }
+    Class<?> raw = TypeToken.get(input).getRawType();
+    return raw == null ? Object.class : raw;
+  }
+
+  private static Type findInputType(Class<?> clazz) {
+    for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Type implemented : current.getGenericInterfaces()) {
+        if (implemented instanceof ParameterizedType
+            && ((ParameterizedType) implemented).getRawType() == TypedDigesterRule.class) {
+          Type input = ((ParameterizedType) implemented).getActualTypeArguments()[0];
+          return input instanceof Class || input instanceof ParameterizedType ? input : null;
+        }
+      }
+    }
+    return null;
+  }
+
+}
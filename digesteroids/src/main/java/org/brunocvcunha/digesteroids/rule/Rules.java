@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.rule;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.brunocvcunha.digesteroids.annotation.StatelessRule;
+
+/**
+ * Instances of the rules used by the mappings. Rules annotated with {@link StatelessRule} are
+ * created once per class and shared, the other ones are created for each mapping.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ */
+public final class Rules {
+
+  private static final ConcurrentMap<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+  private Rules() {
+  }
+
+  /**
+   * @param ruleClass Class of the rule, with a no-args constructor
+   * @return the shared instance of the rule if it is a {@link StatelessRule}, or a new instance
+   * @throws IllegalArgumentException if the rule can not be instantiated
+   * @param <R> Type of the rule
+   */
+  public static <R> R instance(Class<R> ruleClass) {
+    if (!ruleClass.isAnnotationPresent(StatelessRule.class)) {
+      return ruleClass.cast(newInstance(ruleClass));
+    }
+
+    Object instance = instances.get(ruleClass);
+    if (instance == null) {
+      // creating twice in a race is harmless, the rules are stateless
+      instance = newInstance(ruleClass);
+      Object existing = instances.putIfAbsent(ruleClass, instance);
+      if (existing != null) {
+        instance = existing;
+      }
+    }
+    return ruleClass.cast(instance);
+  }
+
+  private static Object newInstance(Class<?> ruleClass) {
+    try {
+      Constructor<?> constructor = ruleClass.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return constructor.newInstance();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new IllegalArgumentException("Can not create instance of the rule " + ruleClass, e);
+    }
+  }
+
+}
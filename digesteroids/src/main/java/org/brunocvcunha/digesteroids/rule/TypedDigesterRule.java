@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.rule;
+
+/**
+ * Rule that receives the resolved value as it is (e.g. a number, a map or a HTML element),
+ * instead of its String representation. When the value is not an instance of <code>S</code>, it
+ * is cast to it first. <code>S</code> is read from the class declaration, so lambdas, that do not
+ * keep it, receive the value as it is.
+ * <p>
+ * A rule is created for each mapping that uses it, and the mappings are cached, so each instance
+ * is called concurrently by all the threads that convert with its mapping and must be
+ * thread-safe. Rules without state can be annotated with {@link
+ * org.brunocvcunha.digesteroids.annotation.StatelessRule}, then a single instance is shared by all
+ * the mappings.
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ * @param <S> Type of the input
+ * @param <T> Type of the output
+ */
+@FunctionalInterface
+public interface TypedDigesterRule<S, T> {
+
+  /**
+   * Converts value into another
+   * @param value input, never null
+   * @return output
+   */
+  T apply(S value);
+
+}
@@ -16,12 +16,16 @@
 package org.brunocvcunha.digesteroids;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.beans.IntrospectionException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.brunocvcunha.digesteroids.model.AddressPOJO;
 import org.brunocvcunha.digesteroids.model.PersonPOJO;
 import org.junit.Test;
 
@@ -45,6 +49,31 @@ public class DigesteroidsReflectionUtilsTest {
     assertEquals("Bruno Candido Volpato da Cunha", brunoVO.getName());
     assertEquals((Integer) 24, brunoVO.getAge());
   }
-  
-  
+
+  @Test
+  public void recursivePaths() {
+
+    AddressPOJO address = new AddressPOJO();
+    address.setAddress1("Main St");
+    address.setCity("Palo Alto");
+
+    PersonPOJO person = new PersonPOJO();
+    person.setName("Bruno");
+    person.setAddress(address);
+
+    Map<String, Object> first = new HashMap<String, Object>();
+    first.put("person", person);
+    Map<String, Object> second = new HashMap<String, Object>();
+    second.put("person", new PersonPOJO[] {null, person});
+
+    Map<String, Object> data = new HashMap<String, Object>();
+    data.put("items", Arrays.asList(new HashMap<String, Object>(), first, second));
+
+    assertEquals("Palo Alto", DigesteroidsReflectionUtils.getRecursive(data, "items.person.address.city"));
+    assertEquals(Arrays.asList("Bruno", "Bruno"), DigesteroidsReflectionUtils.getAllRecursive(data, "items.person.name"));
+    assertNull(DigesteroidsReflectionUtils.getRecursive(data, "items.person.address.city.name"));
+    assertNull(DigesteroidsReflectionUtils.getRecursive(data, "items.missing"));
+    assertTrue(DigesteroidsReflectionUtils.getAllRecursive(data, "items.person.age").isEmpty());
+  }
+
 }
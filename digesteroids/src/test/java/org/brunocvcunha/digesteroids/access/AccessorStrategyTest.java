@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.access;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.function.BiConsumer;
+
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.junit.Test;
+
+/**
+ * Some testing for the accessor strategies
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class AccessorStrategyTest {
+
+  @Test
+  public void lambdaSetter() throws NoSuchMethodException {
+    assertSetter(new LambdaAccessorStrategy());
+  }
+
+  @Test
+  public void reflectionSetter() throws NoSuchMethodException {
+    assertSetter(new ReflectionAccessorStrategy());
+  }
+
+  @Test
+  public void fieldWriter() throws NoSuchFieldException {
+    PersonPOJO person = new LambdaAccessorStrategy().constructor(PersonPOJO.class).get();
+
+    new LambdaAccessorStrategy().fieldWriter(PersonPOJO.class.getDeclaredField("name")).accept(person, "Bruno");
+    assertEquals("Bruno", person.getName());
+  }
+
+  private void assertSetter(AccessorStrategy accessors) throws NoSuchMethodException {
+    PersonPOJO person = accessors.constructor(PersonPOJO.class).get();
+
+    BiConsumer<Object, Object> setter =
+        accessors.setter(PersonPOJO.class.getMethod("setAge", Integer.class));
+    setter.accept(person, 24);
+
+    assertEquals(Integer.valueOf(24), person.getAge());
+  }
+
+}
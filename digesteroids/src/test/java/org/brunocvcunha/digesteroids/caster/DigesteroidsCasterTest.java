@@ -0,0 +1,277 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.caster;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.cast.Converter;
+import org.brunocvcunha.digesteroids.cast.ConverterRegistry;
+import org.brunocvcunha.digesteroids.cast.DateParser;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsDefaultCaster;
+import org.junit.Test;
+
+/**
+ * Some testing for casting utilities
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class DigesteroidsCasterTest {
+
+  private static Logger log = Logger.getLogger(DigesteroidsCasterTest.class);
+
+  private DigesteroidsDefaultCaster caster = DigesteroidsDefaultCaster.getInstance();
+
+  private enum Level {
+    LOW, MEDIUM, HIGH
+  }
+  
+  @Test
+  public void simpleStringCast() {
+
+
+    assertEquals("Bruno", caster.cast("Bruno", String.class));
+    assertEquals("1", caster.cast(1, String.class));
+    assertEquals("1", caster.cast(1, String.class));
+    assertEquals("true", caster.cast(true, String.class));
+
+  }
+
+  @Test
+  public void simpleIntCast() {
+
+    assertEquals(Integer.valueOf(1), caster.cast("1", Integer.class));
+    assertEquals(Integer.valueOf(1), caster.cast("1.0", Integer.class));
+
+  }
+
+  @Test
+  public void numberCast() {
+
+    assertEquals(Integer.valueOf(24), caster.cast(" 24 ", Integer.class));
+    assertEquals(Integer.valueOf(-7), caster.cast("-7.9", int.class));
+    assertEquals(Integer.valueOf(1000), caster.cast("1e3", Integer.class));
+    assertEquals(Integer.valueOf(Integer.MAX_VALUE), caster.cast("3000000000", Integer.class));
+    assertEquals(Integer.valueOf(12), caster.cast(12.7D, Integer.class));
+    assertEquals(Long.valueOf(9007199254740993L), caster.cast(9007199254740993L, Long.class));
+    assertEquals(Long.valueOf(9007199254740993L), caster.cast("9007199254740993", long.class));
+    assertEquals(Double.valueOf(1.5D), caster.cast("1.5", double.class));
+    assertEquals(Double.valueOf(3D), caster.cast(3, Double.class));
+    assertEquals(Short.valueOf((short) 5), caster.cast(5L, Short.class));
+    assertEquals(Byte.valueOf(Byte.MAX_VALUE), caster.cast(300, Byte.class));
+    assertEquals(Byte.valueOf(Byte.MIN_VALUE), caster.cast(-300L, byte.class));
+    assertEquals(Short.valueOf(Short.MAX_VALUE), caster.cast(1e10D, Short.class));
+    assertEquals(Short.valueOf(Short.MIN_VALUE), caster.cast(-70000, short.class));
+    assertEquals(Byte.valueOf(Byte.MAX_VALUE), caster.cast("300", Byte.class));
+    assertEquals(Byte.valueOf((byte) 3), caster.cast(" 3.5 ", byte.class));
+    assertEquals(Short.valueOf(Short.MIN_VALUE), caster.cast("-70000", Short.class));
+    assertEquals(Short.valueOf((short) -3), caster.cast("-3.9", short.class));
+    assertEquals(Boolean.TRUE, caster.cast("TRUE", boolean.class));
+    assertEquals(Boolean.FALSE, caster.cast(0, Boolean.class));
+
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void invalidNumberCast() {
+    caster.cast("abc", Integer.class);
+  }
+
+  @Test
+  public void registryCast() {
+
+    assertEquals(new BigDecimal("10.25"), caster.cast("10.25", BigDecimal.class));
+    assertEquals(new BigDecimal("3"), caster.cast(3, BigDecimal.class));
+    assertEquals(BigInteger.valueOf(12), caster.cast("12.9", BigInteger.class));
+    assertEquals(Instant.parse("2015-08-06T12:01:02.239Z"), caster.cast("2015-08-06T12:01:02.239Z", Instant.class));
+    assertEquals(Instant.ofEpochMilli(1000000000000L), caster.cast(1000000000000L, Instant.class));
+    assertEquals(LocalDate.of(2015, 8, 6), caster.cast("2015-08-06", LocalDate.class));
+    assertEquals(LocalDate.of(2015, 8, 6), caster.cast("2015-08-06T12:01:02Z", LocalDate.class));
+    assertEquals(Level.MEDIUM, caster.cast("MEDIUM", Level.class));
+    assertEquals(Level.HIGH, caster.cast("high", Level.class));
+    assertEquals(Level.LOW, caster.cast(0, Level.class));
+    for (int ordinal : new int[] {-1, Level.values().length}) {
+      try {
+        caster.cast(ordinal, Level.class);
+        fail("no constant with ordinal " + ordinal);
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+
+    Type optionalType = new TypeToken<Optional<Integer>>() { }.getType();
+    assertEquals(Optional.of(7), caster.cast("7", optionalType));
+
+    assertArrayEquals(new int[] {1, 2, 3}, (int[]) caster.cast(Arrays.asList("1", 2L, 3.0D), int[].class));
+    assertArrayEquals(new String[] {"a", "1"}, (String[]) caster.cast(new Object[] {"a", 1}, String[].class));
+
+    Converter<Object, Object> converter = caster.getConverterRegistry().find(String.class, Integer.class, caster);
+    assertSame(converter, caster.getConverterRegistry().find(String.class, Integer.class, caster));
+    assertNull(caster.getConverterRegistry().find(String.class, Object.class, caster));
+
+  }
+
+  @Test
+  public void builtRegistryIsReadOnly() {
+
+    DigesteroidsDefaultCaster.Builder builder = DigesteroidsDefaultCaster.builder();
+    DigesteroidsDefaultCaster built = builder.build();
+    builder.converter(String.class, Integer.class, text -> -1);
+
+    assertEquals(Integer.valueOf(5), built.cast("5", Integer.class));
+    assertEquals(Integer.valueOf(-1), builder.build().cast("5", Integer.class));
+    assertTrue(built.getConverterRegistry().isReadOnly());
+
+    try {
+      DigesteroidsDefaultCaster.getInstance().getConverterRegistry().register(String.class, Integer.class, text -> -1);
+      fail("the registry of the shared caster can't be changed");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    ConverterRegistry copy = built.getConverterRegistry().copy().register(String.class, Integer.class, text -> -1);
+    assertEquals(-1, copy.find(String.class, Integer.class, built).convert("5"));
+    assertEquals(Integer.valueOf(5), DigesteroidsDefaultCaster.getInstance().cast("5", Integer.class));
+
+  }
+
+  @Test
+  public void customConverter() {
+
+    DigesteroidsDefaultCaster custom = DigesteroidsDefaultCaster.builder()
+        .converter(String.class, Integer.class, text -> text.length())
+        .converter(CharSequence.class, Level.class, text -> Level.HIGH)
+        .build();
+
+    assertEquals(Integer.valueOf(5), custom.cast("Bruno", Integer.class));
+    assertEquals(Level.HIGH, custom.cast("LOW", Level.class));
+    assertEquals(Integer.valueOf(5), caster.cast("5", Integer.class));
+
+  }
+
+  @Test
+  public void simpleDateCast() {
+
+    Calendar dateCalendar = new GregorianCalendar();
+    dateCalendar.setTime(caster.date("2015-08-06T12:01:02.239Z"));
+    dateCalendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+    
+    assertEquals(2015, dateCalendar.get(Calendar.YEAR));
+    assertEquals(7, dateCalendar.get(Calendar.MONTH));
+    assertEquals(6, dateCalendar.get(Calendar.DAY_OF_MONTH));
+    assertEquals(12, dateCalendar.get(Calendar.HOUR_OF_DAY));
+    assertEquals(1, dateCalendar.get(Calendar.MINUTE));
+    assertEquals(2, dateCalendar.get(Calendar.SECOND));
+
+  }
+  
+  
+  @Test
+  public void dateParser() {
+
+    OffsetDateTime expected = OffsetDateTime.of(2015, 8, 6, 12, 1, 2, 239000000, ZoneOffset.UTC);
+
+    assertEquals(expected, DateParser.parse("2015-08-06T12:01:02.239Z", null));
+    assertEquals(expected, DateParser.parse("2015-08-06T12:01:02.239+0000", null));
+    assertEquals(expected.toInstant(), DateParser.parse("2015-08-06T09:01:02.239-03:00", null).toInstant());
+    assertEquals(expected.withNano(0), DateParser.parse("2015-08-06 12:01:02", null));
+    assertEquals(expected.toInstant(), DateParser.parse(String.valueOf(expected.toInstant().toEpochMilli()), null).toInstant());
+    assertEquals(expected.withNano(0), DateParser.parse("Thu, 6 Aug 2015 12:01:02 GMT", null));
+    assertEquals(expected.withNano(0), DateParser.parse("1438862462", DateParser.EPOCH_SECONDS));
+    assertEquals(expected.withHour(0).withMinute(0).withSecond(0).withNano(0), DateParser.parse("06/08/2015", "dd/MM/yyyy"));
+    assertSame(DateParser.formatter("dd/MM/yyyy"), DateParser.formatter("dd/MM/yyyy"));
+    assertEquals(OffsetDateTime.of(2024, 1, 15, 0, 0, 0, 0, ZoneOffset.UTC), DateParser.parse("20240115", null));
+    assertEquals(Instant.ofEpochMilli(1000000000L), DateParser.parse("1000000000", null).toInstant());
+    assertEquals(OffsetDateTime.of(2024, 1, 31, 0, 0, 0, 0, ZoneOffset.UTC), DateParser.parse(20240131D, null));
+    assertEquals(Instant.ofEpochMilli(1438862462239L), DateParser.parse(1438862462239L, null).toInstant());
+    assertEquals(Instant.ofEpochMilli(20240131000L), DateParser.parse(20240131L, DateParser.EPOCH_SECONDS).toInstant());
+
+    try {
+      DateParser.parse("12345", null);
+      fail("too short to be epoch milliseconds");
+    } catch (DateTimeParseException e) {
+      // expected
+    }
+
+    try {
+      DateParser.parse("9223372036854775808", null);
+      fail("overflows a long");
+    } catch (DateTimeParseException e) {
+      // expected
+    }
+
+    try {
+      DateParser.parse("9223372036854775807", DateParser.EPOCH_SECONDS);
+      fail("overflows a long in milliseconds");
+    } catch (DateTimeParseException e) {
+      // expected
+    }
+
+    assertEquals(LocalDate.of(2015, 8, 6), caster.cast("06/08/2015", LocalDate.class, null, "dd/MM/yyyy"));
+    assertEquals(expected, caster.cast("2015-08-06T12:01:02.239Z", OffsetDateTime.class));
+
+  }
+
+  @Test
+  public void simpleMapToPOJOCast() {
+
+    Map<String, Object> personMap = new LinkedHashMap<>();
+    personMap.put("name", "Bruno");
+    personMap.put("age", "24");
+    
+    Map<String, Object> addressMap = new LinkedHashMap<>();
+    addressMap.put("address1", "Av Santos Dumont, 801");
+    addressMap.put("city", "Joinville");
+    personMap.put("address", addressMap);
+    
+    PersonPOJO person = caster.cast(personMap, PersonPOJO.class);
+    log.info("simpleMapToPOJOCast: " + caster.json(person));
+    
+    assertEquals("Bruno", person.getName());
+    assertEquals(Integer.valueOf(24), person.getAge());
+    assertEquals("Joinville", person.getAddress().getCity());
+
+  }
+
+  
+
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.caster;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.access.ReflectionAccessorStrategy;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsDefaultCaster;
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.brunocvcunha.inutils4j.MyStreamUtils;
+import org.junit.Test;
+
+/**
+ * Stress testing of shared instances used by many threads
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class DigesteroidsConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int ITERATIONS = 200;
+
+  @Test
+  public void singletonCaster() throws Exception {
+    Set<DigesteroidsDefaultCaster> instances = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    runConcurrently(() -> {
+      instances.add(DigesteroidsDefaultCaster.getInstance());
+      return null;
+    });
+
+    assertEquals(1, instances.size());
+  }
+
+  @Test
+  public void sharedInstanceAllSources() throws Exception {
+    Digesteroids digister = new Digesteroids();
+
+    String html = MyStreamUtils.readContent(getClass().getResourceAsStream("/source.html"));
+    Properties prop = new Properties();
+    prop.load(getClass().getResourceAsStream("/person.properties"));
+
+    runConcurrently(() -> {
+      for (int i = 0; i < ITERATIONS; i++) {
+        Map<String, Object> personMap = new LinkedHashMap<>();
+        personMap.put("fullName", "Person " + i);
+        personMap.put("age", String.valueOf(i));
+
+        PersonPOJO fromMap = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class);
+        assertEquals("Person " + i, fromMap.getName());
+        assertEquals(Integer.valueOf(i), fromMap.getAge());
+
+        PersonPOJO fromJson = digister.convertObjectToType(DigisteroidsTest.SOURCE_JSON, "{\"personName\": \"Json " + i + "\"}", PersonPOJO.class);
+        assertEquals("Json " + i, fromJson.getName());
+
+        PersonPOJO fromHtml = digister.convertObjectToType(DigisteroidsTest.SOURCE_HTML, html, PersonPOJO.class);
+        assertEquals("Palo Alto", fromHtml.getAddress().getCity());
+
+        PersonPOJO fromProperties = digister.convertObjectToType(DigisteroidsTest.SOURCE_PROPERTY, prop, PersonPOJO.class);
+        assertEquals("San Francisco", fromProperties.getAddress().getCity());
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void builtInstances() throws IOException {
+    DigesteroidsDefaultCaster caster = DigesteroidsDefaultCaster.builder().dateFormat("dd/MM/yyyy").build();
+    Digesteroids digister = Digesteroids.builder().caster(caster).accessors(new ReflectionAccessorStrategy()).build();
+
+    assertSame(caster, digister.getCaster());
+    assertTrue(digister.getAccessors() instanceof ReflectionAccessorStrategy);
+    assertEquals(0L, caster.date("01/01/1970").getTime());
+
+    Digesteroids defaults = Digesteroids.builder().build();
+    assertSame(DigesteroidsDefaultCaster.getInstance(), defaults.getCaster());
+
+    Digesteroids copy = defaults.withCaster(caster);
+    assertSame(caster, copy.getCaster());
+    assertSame(DigesteroidsDefaultCaster.getInstance(), defaults.getCaster());
+  }
+
+  /**
+   * Run the task in many threads at the same time, failing if any of them fails
+   */
+  private static void runConcurrently(Callable<Void> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+
+      start.countDown();
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,608 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.caster;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.brunocvcunha.digesteroids.DigestContext;
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.FieldMapping;
+import org.brunocvcunha.digesteroids.MappingPlan;
+import org.brunocvcunha.digesteroids.NormalizeModeEnum;
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.TextNormalizer;
+import org.brunocvcunha.digesteroids.access.LambdaAccessorStrategy;
+import org.brunocvcunha.digesteroids.access.PropertyReaders;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.annotation.StatelessRule;
+import org.brunocvcunha.digesteroids.model.CatalogPOJO;
+import org.brunocvcunha.digesteroids.model.CityPOJO;
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.brunocvcunha.digesteroids.model.PersonView;
+import org.brunocvcunha.digesteroids.rule.DigesterRule;
+import org.brunocvcunha.digesteroids.rule.Rules;
+import org.brunocvcunha.digesteroids.rule.TypedDigesterRule;
+import org.brunocvcunha.inutils4j.MyStringUtils;
+import org.junit.Test;
+
+/**
+ * Some testing for casting utilities
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class DigisteroidsTest {
+  
+  private static Logger log = Logger.getLogger(DigisteroidsTest.class);
+
+  public static final String SOURCE_EXAMPLE = "SourceTest";
+  public static final String SOURCE_HTML = "SourceTestHtml";
+  public static final String SOURCE_PROPERTY = "SourceTestProperty";
+  public static final String SOURCE_JSON = "SourceTestJson";
+  
+  @Test
+  public void simpleMapDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> personMap = new LinkedHashMap<>();
+    personMap.put("fullName", "Bruno");
+    personMap.put("age", "24");
+    
+    Map<String, Object> addressMap = new LinkedHashMap<>();
+    addressMap.put("address", "Av Santos Dumont, 801");
+    addressMap.put("addressCity", "Joinville");
+    
+    personMap.put("personAddress", addressMap);
+    
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class);
+    log.info("simpleMapDigester: " + digister.getCaster().json(person));
+
+    assertEquals("Bruno", person.getName());
+    assertEquals(Integer.valueOf(24), person.getAge());
+    assertEquals("Joinville", person.getAddress().getCity());
+
+  }
+
+
+  @Test
+  public void pojoDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    PersonDTO dto = new PersonDTO();
+    dto.fullName = "Bruno";
+    dto.age = 24;
+    dto.personAddress = new AddressDTO();
+    dto.personAddress.address = "Av Santos Dumont, 801";
+    dto.personAddress.addressCity = "Joinville";
+
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, dto, PersonPOJO.class);
+
+    assertEquals("Bruno", person.getName());
+    assertEquals(Integer.valueOf(24), person.getAge());
+    assertEquals("Av Santos Dumont, 801", person.getAddress().getAddress1());
+    assertEquals("Joinville", person.getAddress().getCity());
+
+    // no field with the name, read through the getter
+    assertEquals("JOINVILLE", new PropertyReaders(new LambdaAccessorStrategy()).read(dto.personAddress, "upperCity"));
+    assertEquals("JOINVILLE", new PropertyReaders().read(dto.personAddress, "upperCity"));
+
+    assertTrue(new DigestContext(digister.getCaster(), dto).isBean());
+    assertFalse(new DigestContext(digister.getCaster(), "{}").isBean());
+
+  }
+
+  /**
+   * DTO read in place, without converting it to a map
+   */
+  static class PersonDTO {
+    private String fullName;
+    private int age;
+    private AddressDTO personAddress;
+  }
+
+  /**
+   * Nested DTO
+   */
+  static class AddressDTO {
+    private String address;
+    private String addressCity;
+
+    public String getUpperCity() {
+      return addressCity.toUpperCase();
+    }
+  }
+
+  @Test
+  public void simpleJsonDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, "{\"fullName\": \"Bruno Candido Volpato da Cunha\"}", PersonPOJO.class);
+    log.info("simpleJsonDigester: " + digister.getCaster().json(person));
+
+    assertEquals("Bruno Candido Volpato da Cunha", person.getName());
+
+  }
+
+  @Test
+  public void simpleJsonPathDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_JSON, "{\"personName\": \"Bruno Candido Volpato da Cunha\"}", PersonPOJO.class);
+    log.info("simpleJsonPathDigester: " + digister.getCaster().json(person));
+
+    assertEquals("Bruno Candido Volpato da Cunha", person.getName());
+
+  }
+
+  
+  @Test
+  public void simpleHTMLDigester() throws InstantiationException, IllegalAccessException, IOException {
+
+    Digesteroids digister = new Digesteroids();
+    
+    PersonPOJO person = digister.convertHTMLToType(DigisteroidsTest.SOURCE_HTML, getClass().getResourceAsStream("/source.html"), PersonPOJO.class);
+    log.info("simpleHTMLDigester: " + digister.getCaster().json(person));
+
+    assertEquals("Bruno Candido Volpato da Cunha", person.getName());
+    assertNotNull(person.getAddress());
+    assertEquals("Av Santos Dumont, 831", person.getAddress().getAddress1());
+    assertEquals("Palo Alto", person.getAddress().getCity());
+
+  }
+
+  @Test
+  public void simplePropertiesDigester() throws InstantiationException, IllegalAccessException, IOException {
+
+    Digesteroids digister = new Digesteroids();
+    
+    Properties prop = new Properties();
+    prop.load(getClass().getResourceAsStream("/person.properties"));
+    
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_PROPERTY, prop, PersonPOJO.class);
+    log.info("simplePropertiesDigester: " + digister.getCaster().json(person));
+
+    assertEquals("Bruno", person.getName());
+    assertNotNull(person.getAddress());
+    assertEquals("Castro St", person.getAddress().getAddress1());
+    assertEquals("San Francisco", person.getAddress().getCity());
+
+  }
+
+  @Test
+  public void mappingPlanIsCached() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    MappingPlan<PersonPOJO> plan = digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_HTML);
+    assertSame(plan, digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_HTML));
+    assertSame(plan, digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_HTML.toUpperCase()));
+    assertNotSame(plan, digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_JSON));
+
+    assertEquals(3, plan.getFields().size());
+    assertEquals(1, digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_JSON).getFields().size());
+
+  }
+
+  @Test
+  public void contextParsesOnce() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    DigestContext context = new DigestContext(digister.getCaster(), "{\"personName\": \"Bruno\"}");
+
+    assertSame(context.map(), context.map());
+    assertSame(context.json(), context.json());
+
+    PersonPOJO person = digister.convertContextToType(DigisteroidsTest.SOURCE_JSON, context, PersonPOJO.class);
+    assertEquals("Bruno", person.getName());
+
+  }
+
+  @Test
+  public void jsonPathIsCompiled() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    MappingPlan<PersonPOJO> plan = digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_JSON);
+
+    FieldMapping nameMapping = plan.getFields().stream()
+        .filter(mapping -> mapping.getField().getName().equals("name")).findFirst().get();
+    assertNotNull(nameMapping.getJsonPath());
+
+    DigestContext context = new DigestContext(digister.getCaster(), "{\"personName\": \"Bruno\"}");
+    assertEquals("Bruno", context.read(nameMapping.getJsonPath()));
+
+  }
+
+  @Test
+  public void xpathDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    DigestContext context = new DigestContext(digister.getCaster(), "<html><body><h1 class=\"title\">Digesteroids</h1>"
+        + "<ul><li>one</li><li>two <a href=\"/two\">link</a></li></ul><p><span>Palo Alto</span></p></body></html>");
+
+    assertEquals("Digesteroids", digister.resolveFieldValue(context, xpath("//h1[@class='title']", String.class)));
+    assertEquals("two link", digister.resolveFieldValue(context, xpath("//ul/li[2]", String.class)));
+    assertEquals("/two", digister.resolveFieldValue(context, xpath("//a/@href", String.class)));
+    assertEquals(Integer.valueOf(2), digister.resolveFieldValue(context, xpath("count(//li)", Integer.class)));
+
+    // mappings written with CSS selectors before XPath was supported
+    FieldMapping css = xpath("p span", String.class);
+    assertNull(css.getXPath());
+    assertEquals("Palo Alto", digister.resolveFieldValue(context, css));
+
+    // CSS selectors that are valid XPath too, but select no element as XPath
+    assertNotNull(xpath("p > span", String.class).getXPath());
+    assertEquals("Palo Alto", digister.resolveFieldValue(context, xpath("p > span", String.class)));
+    assertEquals("Palo Alto", digister.resolveFieldValue(context, xpath("span", String.class)));
+    assertEquals("Digesteroids", digister.resolveFieldValue(context, xpath("h1", String.class)));
+    assertEquals("", digister.resolveFieldValue(context, xpath("string(//h2)", String.class)));
+
+    assertSame(context.dom(), context.dom());
+
+  }
+
+  @Test
+  public void collectionDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    CatalogPOJO html = digister.convertObjectToType("", "<ul class=\"tags\"><li>hot</li><li> cold </li></ul>"
+        + "<div class=\"item\"><span class=\"name\">Coffee</span><span class=\"price\">2.5</span></div>"
+        + "<div class=\"item\"><span class=\"name\">Tea</span><span class=\"price\">2.5</span></div>", CatalogPOJO.class);
+    assertCatalog(html);
+
+    CatalogPOJO json = digister.convertObjectToType(CatalogPOJO.SOURCE_DATA, "{\"catalog\": {\"tags\": [\"hot\", \"cold\"],"
+        + "\"items\": [{\"name\": \"Coffee\", \"price\": \"2.5\"}, {\"name\": \"Tea\", \"price\": 2.5}]}}", CatalogPOJO.class);
+    assertCatalog(json);
+
+    Map<String, Object> coffee = new LinkedHashMap<>();
+    coffee.put("name", "Coffee");
+    coffee.put("price", 2.5D);
+    Map<String, Object> tea = new LinkedHashMap<>();
+    tea.put("name", "Tea");
+    tea.put("price", "2.5");
+    Map<String, Object> catalog = new LinkedHashMap<>();
+    catalog.put("tags", new String[] {"hot", "cold"});
+    catalog.put("items", new Object[] {coffee, tea});
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("catalog", catalog);
+
+    assertCatalog(digister.convertObjectToType(CatalogPOJO.SOURCE_DATA, data, CatalogPOJO.class));
+
+  }
+
+  private static void assertCatalog(CatalogPOJO catalog) {
+    assertEquals(Arrays.asList("hot", "cold"), catalog.getTags());
+    assertEquals(2, catalog.getItems().size());
+    assertEquals("Coffee", catalog.getItems().get(0).getName());
+    assertEquals(Double.valueOf(2.5D), catalog.getItems().get(0).getPrice());
+    assertEquals("Tea", catalog.getItems().get(1).getName());
+    assertEquals(Collections.singleton(2.5D), catalog.getPrices());
+  }
+
+  @Test
+  public void textNormalizer() {
+
+    TextNormalizer trim = TextNormalizer.compile(true);
+    for (String value : new String[] {"  Palo\u00A0Alto \t", "Palo\n\nAlto", "\u0001 Palo Alto\r\n", "", "Palo Alto"}) {
+      // same result as the regex based trim
+      assertEquals(value.replaceAll("\u00A0", " ").replaceAll("[\\s\\t]", " ").trim(), trim.normalize(value));
+    }
+    String clean = "Palo Alto";
+    assertSame(clean, trim.normalize(clean));
+
+    assertEquals("Palo Alto", TextNormalizer.compile(true, NormalizeModeEnum.COLLAPSE_WHITESPACE).normalize(" Palo \u00A0\n Alto  "));
+    assertEquals("PaloAlto ", TextNormalizer.compile(false, NormalizeModeEnum.STRIP_CONTROL).normalize("Palo\u0000Alto\u007F "));
+    assertEquals("Palo\tAlto\r\n", TextNormalizer.compile(false, NormalizeModeEnum.STRIP_CONTROL).normalize("Palo\tAlto\u0007\r\n"));
+    String text = "Palo\n\tAlto";
+    assertSame(text, TextNormalizer.compile(false, NormalizeModeEnum.STRIP_CONTROL).normalize(text));
+    assertEquals("Palo \n Alto", TextNormalizer.compile(false).normalize("Palo \n Alto"));
+    assertEquals("S\u00E3o Paulo", TextNormalizer.compile(true, NormalizeModeEnum.NFC).normalize(" Sa\u0303o Paulo"));
+
+  }
+
+  @Test
+  public void ruleChain() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+    FieldMapping mapping = new FieldMapping("", ReferenceTypeEnum.NORMAL, "population",
+        new TypedDigesterRule<?, ?>[] {Rules.instance(TwiceRule.class), Rules.instance(PeopleRule.class)},
+        true, -1, true, "", false, "", new NormalizeModeEnum[0], String.class);
+
+    Map<String, Object> cityMap = new LinkedHashMap<>();
+    cityMap.put("population", "21");
+
+    // the typed rule receives the value cast to Integer, the other one its String
+    assertEquals("42 people", digister.resolveFieldValue(new DigestContext(digister.getCaster(), cityMap), mapping));
+    assertSame(Rules.instance(TwiceRule.class), mapping.getRuleChain().getRules().get(0));
+    assertNotSame(Rules.instance(PeopleRule.class), mapping.getRuleChain().getRules().get(1));
+
+    // the field with the rule that can not be created is ignored, the other ones are converted
+    RulesPOJO city = digister.convertObjectToType("", cityMap, RulesPOJO.class);
+    assertEquals("21 people", city.population);
+    assertNull(city.broken);
+
+  }
+
+  /**
+   * Entity with a rule that can not be created
+   */
+  @DigesterEntity(fieldAccess = true)
+  public static class RulesPOJO {
+    @DigesterMapping(value = "population", rule = PeopleRule.class)
+    String population;
+
+    @DigesterMapping(value = "population", rule = BrokenRule.class)
+    String broken;
+  }
+
+  /**
+   * Typed rule, receiving numbers
+   */
+  @StatelessRule
+  static class TwiceRule implements TypedDigesterRule<Integer, Integer> {
+    @Override
+    public Integer apply(Integer value) {
+      return value * 2;
+    }
+  }
+
+  /**
+   * String rule
+   */
+  static class PeopleRule implements DigesterRule<String> {
+    @Override
+    public String apply(String value) {
+      return value + " people";
+    }
+  }
+
+  /**
+   * Rule without a no-args constructor
+   */
+  static class BrokenRule implements DigesterRule<String> {
+    private final String suffix;
+
+    BrokenRule(String suffix) {
+      this.suffix = suffix;
+    }
+
+    @Override
+    public String apply(String value) {
+      return value + suffix;
+    }
+  }
+
+  @Test
+  public void htmlIdIndex() {
+
+    DigestContext context = new DigestContext(new Digesteroids().getCaster(),
+        "<div id=\"main\"><span id=\"name\">first</span><p id=\"name\">second</p><b id=\"\">empty</b></div>");
+
+    assertSame(context.html().getElementById("name"), context.elementById("name"));
+    assertEquals("first", context.elementById("name").text());
+    assertSame(context.html().getElementById("main"), context.elementById("main"));
+    assertNull(context.elementById("missing"));
+
+  }
+
+  private static FieldMapping xpath(String expression, Class<?> valueType) {
+    return new FieldMapping("", ReferenceTypeEnum.HTML_XPATH, expression, null, true, -1, true, "", false, "",
+        new NormalizeModeEnum[0], valueType);
+  }
+
+  @Test
+  public void fieldAccessDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> cityMap = new LinkedHashMap<>();
+    cityMap.put("cityName", "Joinville");
+    cityMap.put("population", "590000");
+    cityMap.put("founded", "09/03/1851");
+    cityMap.put("updated", "Tue, 3 Jun 2008 11:05:30 GMT");
+
+    CityPOJO city = digister.convertObjectToType(cityMap, CityPOJO.class);
+
+    assertEquals("Joinville", city.getName());
+    assertEquals(590000L, city.getPopulation());
+    assertEquals(LocalDate.of(1851, 3, 9), city.getFounded());
+    assertEquals(Instant.parse("2008-06-03T11:05:30Z"), city.getUpdated());
+
+    // JSON numbers are doubles, detected with the same rules of the texts
+    city = digister.convertObjectToType("", "{\"cityName\": \"Joinville\", \"updated\": 20240131}", CityPOJO.class);
+    assertEquals(Instant.parse("2024-01-31T00:00:00Z"), city.getUpdated());
+    city = digister.convertObjectToType("", "{\"cityName\": \"Joinville\", \"updated\": 1212491130000}", CityPOJO.class);
+    assertEquals(Instant.parse("2008-06-03T11:05:30Z"), city.getUpdated());
+
+  }
+
+  @Test
+  public void streamJsonDigester() {
+
+    Digesteroids digister = new Digesteroids();
+
+    String json = "[{\"fullName\": \"Bruno\", \"age\": 24}, {\"fullName\": \"Candido\", \"age\": 25}]";
+
+    try (Stream<PersonPOJO> persons = digister.streamJson(DigisteroidsTest.SOURCE_EXAMPLE, new StringReader(json), PersonPOJO.class)) {
+      List<PersonPOJO> list = persons.collect(Collectors.toList());
+
+      assertEquals(2, list.size());
+      assertEquals("Bruno", list.get(0).getName());
+      assertEquals(Integer.valueOf(25), list.get(1).getAge());
+    }
+
+  }
+
+  @Test
+  public void convertAllDigester() {
+
+    Digesteroids digister = new Digesteroids();
+
+    List<Map<String, Object>> inputs = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Map<String, Object> personMap = new LinkedHashMap<>();
+      personMap.put("fullName", "Person " + i);
+      personMap.put("age", i);
+      inputs.add(personMap);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<PersonPOJO> persons = digister.convertAll(DigisteroidsTest.SOURCE_EXAMPLE, inputs, PersonPOJO.class, executor);
+      assertEquals(500, persons.size());
+      for (int i = 0; i < 500; i++) {
+        assertEquals("Person " + i, persons.get(i).getName());
+      }
+
+      try (Stream<PersonPOJO> unordered = digister.convertAll(DigisteroidsTest.SOURCE_EXAMPLE, inputs.stream(), PersonPOJO.class, executor, 8, false)) {
+        assertEquals(500, unordered.map(PersonPOJO::getAge).distinct().count());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // only the first conversion runs, so closing the stream must cancel the other ones
+    List<Runnable> queued = new ArrayList<>();
+    Executor first = task -> {
+      if (queued.isEmpty()) {
+        task.run();
+      }
+      queued.add(task);
+    };
+    Stream<PersonPOJO> pending = digister.convertAll(DigisteroidsTest.SOURCE_EXAMPLE, inputs.stream(), PersonPOJO.class, first, 8, true);
+    assertEquals("Person 0", pending.findFirst().get().getName());
+    assertEquals(8, queued.size());
+    pending.close();
+    queued.remove(0);
+    for (Runnable task : queued) {
+      assertTrue(((Future<?>) task).isCancelled());
+    }
+
+  }
+
+  @Test
+  public void lazyDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> personMap = new LinkedHashMap<>();
+    personMap.put("fullName", "Bruno");
+    personMap.put("addressCity", "Palo Alto");
+
+    PersonView.CountingRule.COUNT.set(0);
+    PersonView person = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonView.class);
+    assertEquals(0, PersonView.CountingRule.COUNT.get());
+
+    assertEquals("Bruno", person.getName());
+    assertEquals("Bruno", person.getName());
+    assertEquals(1, PersonView.CountingRule.COUNT.get());
+    assertEquals(0, person.getAge());
+    assertEquals("Palo Alto", person.getAddress().getCity());
+    assertSame(person.getAddress(), person.getAddress());
+    assertEquals(person, person);
+    assertEquals("Hello, Bruno", person.getGreeting());
+
+    PersonView htmlPerson = digister.convertHTMLToType(DigisteroidsTest.SOURCE_HTML, getClass().getResourceAsStream("/source.html"), PersonView.class);
+    assertEquals("Bruno Candido Volpato da Cunha", htmlPerson.getName());
+    assertEquals("Palo Alto", htmlPerson.getAddress().getCity());
+    assertTrue(digister.getPlan(PersonView.class, DigisteroidsTest.SOURCE_HTML).isLazy());
+
+    try {
+      htmlPerson.getAge();
+      fail("getAge has no mapping for the HTML source");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+  }
+
+  @Test
+  public void projectionDigester() throws InstantiationException, IllegalAccessException {
+
+    Digesteroids digister = new Digesteroids();
+
+    Map<String, Object> personMap = new LinkedHashMap<>();
+    personMap.put("fullName", "Bruno");
+    personMap.put("age", "24");
+    Map<String, Object> addressMap = new LinkedHashMap<>();
+    addressMap.put("address", "Av Santos Dumont, 831");
+    addressMap.put("addressCity", "Palo Alto");
+    personMap.put("personAddress", addressMap);
+
+    Set<String> fields = new HashSet<>(Arrays.asList("name", "address.city"));
+    PersonPOJO person = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class, fields);
+    assertEquals("Bruno", person.getName());
+    assertNull(person.getAge());
+    assertEquals("Palo Alto", person.getAddress().getCity());
+    assertNull(person.getAddress().getAddress1());
+
+    PersonPOJO whole = digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class,
+        new HashSet<>(Arrays.asList("address", "address.city")));
+    assertNull(whole.getName());
+    assertEquals("Av Santos Dumont, 831", whole.getAddress().getAddress1());
+
+    MappingPlan<PersonPOJO> plan = digister.getPlan(PersonPOJO.class, DigisteroidsTest.SOURCE_EXAMPLE);
+    assertSame(plan.project(fields, digister), plan.project(new HashSet<>(fields), digister));
+    assertEquals(2, plan.project(fields, digister).getFields().size());
+
+    try {
+      digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class, Collections.singleton("nickname"));
+      fail("nickname is not mapped");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class, Collections.singleton("address.nickname"));
+      fail("nickname is not mapped in the address");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      digister.convertObjectToType(DigisteroidsTest.SOURCE_EXAMPLE, personMap, PersonPOJO.class, Collections.singleton("name.first"));
+      fail("name is not an entity");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+  }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.html;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.FieldMapping;
+import org.brunocvcunha.digesteroids.MappingPlan;
+import org.brunocvcunha.digesteroids.caster.DigisteroidsTest;
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.brunocvcunha.digesteroids.model.ProductPOJO;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.Test;
+
+/**
+ * Testing of the streaming HTML extraction
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class StreamingHtmlTest {
+
+  private static final String PRODUCT_HTML = "<!DOCTYPE html><html><head><title>Store</title>"
+      + "<script>var fake = '<span class=\"price\">0</span>';</script></head><body>"
+      + "<!-- <h1 id=\"product-name\">Commented</h1> -->"
+      + "<h1 id=\"product-name\">Coffee &amp; Milk</h1>"
+      + "<div class=\"product main\"><p>Only <b>today</b></p><span class=\"price\">10.50</span></div>"
+      + "<ul class=\"tags\"><li>  hot\n drinks <li>breakfast</ul>"
+      + "<a href=\"/other\">Other</a><a rel=\"details\" href=\"/coffee?a=1&amp;b=2\">Details</a>"
+      + "<div class=\"description\">Intro<br/>  Contains   milk <i>ignored</i> more</div>";
+
+  @Test
+  public void streamingHtmlDigester() throws Exception {
+
+    Digesteroids digister = new Digesteroids();
+
+    ProductPOJO product = digister.convertHTMLToTypeStreaming("", new StringReader(PRODUCT_HTML), ProductPOJO.class);
+    assertProduct(product);
+    assertEquals("hot drinks", product.getFirstTag());
+
+    // same values as the DOM based conversion, except that it joins the text of all the matches
+    ProductPOJO domProduct = digister.convertObjectToType("", PRODUCT_HTML, ProductPOJO.class);
+    assertProduct(domProduct);
+    assertEquals("hot drinks breakfast", domProduct.getFirstTag());
+
+  }
+
+  @Test
+  public void stopsWhenAllFieldsAreFound() throws Exception {
+
+    Digesteroids digister = new Digesteroids();
+
+    Reader failing = new Reader() {
+      @Override
+      public int read(char[] cbuf, int off, int len) throws IOException {
+        throw new IOException("Read past the fields");
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+
+    Reader reader = new Reader() {
+      private final Reader html = new StringReader(PRODUCT_HTML + "</body></html>");
+      private boolean htmlEnded;
+
+      @Override
+      public int read(char[] cbuf, int off, int len) throws IOException {
+        if (!htmlEnded) {
+          int read = html.read(cbuf, off, len);
+          if (read > 0) {
+            return read;
+          }
+          htmlEnded = true;
+        }
+        return failing.read(cbuf, off, len);
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+
+    assertProduct(digister.convertHTMLToTypeStreaming("", reader, ProductPOJO.class));
+
+  }
+
+  @Test
+  public void commentEndings() throws Exception {
+
+    Digesteroids digister = new Digesteroids();
+
+    for (String comment : new String[] {"<!-- <h1 id=\"product-name\">Commented</h1> --->",
+        "<!-- a -- b -->", "<!-- a --- b --->", "<!---->"}) {
+      String html = PRODUCT_HTML.replace("<!-- <h1 id=\"product-name\">Commented</h1> -->", comment);
+      assertProduct(digister.convertHTMLToTypeStreaming("", new StringReader(html), ProductPOJO.class));
+    }
+
+  }
+
+  @Test
+  public void singleTraversalSelectors() throws Exception {
+
+    Digesteroids digister = new Digesteroids();
+    MappingPlan<ProductPOJO> plan = digister.getPlan(ProductPOJO.class, "");
+
+    SelectorGroup group = plan.getSelectorGroup();
+    assertEquals(4, group.getMappings().size());
+
+    Element html = Jsoup.parse(PRODUCT_HTML);
+    Map<FieldMapping, Elements> selected = group.select(html);
+    for (FieldMapping mapping : group.getMappings()) {
+      assertEquals(html.select(mapping.getValue()), selected.get(mapping));
+    }
+
+    ProductPOJO product = digister.convertObjectToType("", PRODUCT_HTML, ProductPOJO.class);
+    assertProduct(product);
+    assertEquals("hot drinks breakfast", product.getFirstTag());
+
+    ProductPOJO walkPerField = Digesteroids.builder().singleTraversal(false).build()
+        .convertObjectToType("", PRODUCT_HTML, ProductPOJO.class);
+    assertProduct(walkPerField);
+    assertEquals("hot drinks breakfast", walkPerField.getFirstTag());
+
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedMappings() throws Exception {
+    new Digesteroids().convertHTMLToTypeStreaming(DigisteroidsTest.SOURCE_HTML, new StringReader(PRODUCT_HTML), PersonPOJO.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedSelector() {
+    SimpleSelector.parse("li:first-child");
+  }
+
+  private static void assertProduct(ProductPOJO product) {
+    assertEquals("Coffee & Milk", product.getName());
+    assertEquals(Double.valueOf(10.5D), product.getPrice());
+    assertEquals("/coffee?a=1&b=2", product.getLink());
+    assertEquals("Contains milk", product.getNote());
+    assertEquals("web", product.getChannel());
+  }
+
+}
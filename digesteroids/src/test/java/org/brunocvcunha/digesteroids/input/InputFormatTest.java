@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.input;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.brunocvcunha.digesteroids.Digesteroids;
+import org.brunocvcunha.digesteroids.IngestError;
+import org.brunocvcunha.digesteroids.cast.DigesteroidsCaster;
+import org.brunocvcunha.digesteroids.caster.DigisteroidsTest;
+import org.brunocvcunha.digesteroids.model.PersonPOJO;
+import org.junit.Test;
+
+/**
+ * Testing of the input formats
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+public class InputFormatTest {
+
+  private static final String PERSON_JSON = "{\"fullName\": \"José da Silva\", \"age\": 30}";
+
+  @Test
+  public void jsonCharsets() throws Exception {
+
+    Digesteroids digister = new Digesteroids();
+
+    for (byte[] bytes : new byte[][] {PERSON_JSON.getBytes(StandardCharsets.UTF_8),
+        PERSON_JSON.getBytes(StandardCharsets.UTF_16LE), PERSON_JSON.getBytes(StandardCharsets.UTF_16BE),
+        concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, PERSON_JSON.getBytes(StandardCharsets.UTF_8)),
+        PERSON_JSON.getBytes(StandardCharsets.UTF_16)}) {
+
+      PersonPOJO person = digister.convertInputToType(DigisteroidsTest.SOURCE_EXAMPLE, InputSource.of(bytes), InputFormats.JSON, PersonPOJO.class);
+      assertEquals("José da Silva", person.getName());
+      assertEquals(Integer.valueOf(30), person.getAge());
+    }
+
+  }
+
+  @Test
+  public void htmlBuffer() throws Exception {
+
+    String html = "<html><head><meta charset=\"ISO-8859-1\"></head><body><p id=\"fname\">José</p>"
+        + "<p id=\"age\">30</p><p class=\"address1\">Rua A</p><p><span>São Paulo</span></p></body></html>";
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(html.length());
+    buffer.put(html.getBytes(StandardCharsets.ISO_8859_1)).flip();
+
+    PersonPOJO person = new Digesteroids().convertInputToType(DigisteroidsTest.SOURCE_HTML, InputSource.of(buffer), InputFormats.HTML, PersonPOJO.class);
+    assertEquals("José", person.getName());
+    assertEquals("São Paulo", person.getAddress().getCity());
+    assertEquals(0, buffer.position());
+
+    // no declared charset, UTF-8 by default
+    byte[] utf8 = "<p id=\"fname\">São João</p>".getBytes(StandardCharsets.UTF_8);
+    PersonPOJO utf8Person = new Digesteroids().convertInputToType(DigisteroidsTest.SOURCE_HTML, InputSource.of(utf8), InputFormats.HTML, PersonPOJO.class);
+    assertEquals("São João", utf8Person.getName());
+
+  }
+
+  @Test
+  public void mappedProperties() throws Exception {
+
+    Path file = Files.createTempFile("person", ".properties");
+    try {
+      Files.write(file, "person.name=Bruno\nperson.age=24\n".getBytes(StandardCharsets.ISO_8859_1));
+
+      PersonPOJO person = new Digesteroids().convertInputToType(DigisteroidsTest.SOURCE_PROPERTY, InputSource.map(file), InputFormats.PROPERTIES, PersonPOJO.class);
+      assertEquals("Bruno", person.getName());
+      assertEquals(Integer.valueOf(24), person.getAge());
+    } finally {
+      Files.delete(file);
+    }
+
+  }
+
+  @Test
+  public void customFormat() throws Exception {
+
+    InputFormats.register(new InputFormat() {
+      @Override
+      public String getName() {
+        return "csv";
+      }
+
+      @Override
+      public Object parse(InputSource input, DigesteroidsCaster caster) throws IOException {
+        String[] values = new String(readAll(input), StandardCharsets.UTF_8).trim().split(",");
+        Map<String, Object> map = new HashMap<>();
+        map.put("fullName", values[0]);
+        map.put("age", values[1]);
+        return map;
+      }
+    });
+
+    PersonPOJO person = new Digesteroids().convertInputToType(DigisteroidsTest.SOURCE_EXAMPLE,
+        InputSource.of(new ByteArrayInputStream("Bruno,24".getBytes(StandardCharsets.UTF_8))), "CSV", PersonPOJO.class);
+    assertEquals("Bruno", person.getName());
+    assertEquals(Integer.valueOf(24), person.getAge());
+
+  }
+
+  @Test
+  public void ingestFiles() throws Exception {
+
+    Path dir = Files.createTempDirectory("ingest");
+    try {
+      Path first = dir.resolve("first.jsonl");
+      Files.write(first, ("{\"fullName\": \"José\", \"age\": 1}\r\n\n   \n{\"fullName\": \n"
+          + "{\"fullName\": \"Maria\", \"age\": 2}").getBytes(StandardCharsets.UTF_8));
+      Path second = dir.resolve("second.jsonl");
+      Files.write(second, "{\"fullName\": \"João\", \"age\": 3}\n".getBytes(StandardCharsets.UTF_8));
+      Path missing = dir.resolve("missing.jsonl");
+
+      List<IngestError> errors = new ArrayList<>();
+      try (Stream<PersonPOJO> persons = new Digesteroids().ingestJsonLines(DigisteroidsTest.SOURCE_EXAMPLE,
+          Stream.of(first, missing, second), PersonPOJO.class, errors::add)) {
+        assertEquals(Arrays.asList("José", "Maria", "João"), persons.map(PersonPOJO::getName).collect(Collectors.toList()));
+      }
+
+      // files are read ahead of the conversions, so their errors come before the records ones
+      assertEquals(2, errors.size());
+      assertEquals(missing, errors.get(0).getFile());
+      assertTrue(errors.get(0).isFileError());
+      assertEquals(first, errors.get(1).getFile());
+      assertEquals(4, errors.get(1).getRecord());
+
+      Path html = dir.resolve("person.html");
+      Files.write(html, "<html><body><p id=\"fname\">José</p><p id=\"age\">30</p></body></html>".getBytes(StandardCharsets.UTF_8));
+
+      errors.clear();
+      try (Stream<PersonPOJO> persons = new Digesteroids().ingestFiles(DigisteroidsTest.SOURCE_HTML,
+          Stream.of(html, missing), InputFormats.HTML, PersonPOJO.class, errors::add)) {
+        List<PersonPOJO> list = persons.collect(Collectors.toList());
+        assertEquals(1, list.size());
+        assertEquals("José", list.get(0).getName());
+        assertEquals(Integer.valueOf(30), list.get(0).getAge());
+      }
+      assertEquals(1, errors.size());
+    } finally {
+      try (Stream<Path> files = Files.list(dir)) {
+        for (Path file : files.collect(Collectors.toList())) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(dir);
+    }
+
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownFormat() {
+    InputFormats.get("yaml");
+  }
+
+  private static byte[] readAll(InputSource input) throws IOException {
+    ByteBuffer buffer = input.getBuffer();
+    if (buffer != null) {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      return bytes;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] chunk = new byte[512];
+    int read;
+    InputStream in = input.openStream();
+    while ((read = in.read(chunk)) > 0) {
+      out.write(chunk, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] bytes = new byte[first.length + second.length];
+    System.arraycopy(first, 0, bytes, 0, first.length);
+    System.arraycopy(second, 0, bytes, first.length, second.length);
+    return bytes;
+  }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.model;
+
+import java.util.List;
+import java.util.Set;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Test Catalog POJO, with collections
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity(fieldAccess = true)
+public class CatalogPOJO {
+
+  /**
+   * Source of JSON and map data
+   */
+  public static final String SOURCE_DATA = "SourceTestData";
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "ul.tags li")
+  @DigesterMapping(source = SOURCE_DATA, refType = ReferenceTypeEnum.JSON_PATH, value = "$.catalog.tags")
+  List<String> tags;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "div.item")
+  @DigesterMapping(source = SOURCE_DATA, value = "catalog.items")
+  List<ItemPOJO> items;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "div.item span.price")
+  @DigesterMapping(source = SOURCE_DATA, value = "catalog.items.price")
+  Set<Double> prices;
+
+  /**
+   * @return the tags
+   */
+  public List<String> getTags() {
+    return tags;
+  }
+  /**
+   * @return the items
+   */
+  public List<ItemPOJO> getItems() {
+    return items;
+  }
+  /**
+   * @return the distinct prices
+   */
+  public Set<Double> getPrices() {
+    return prices;
+  }
+
+}
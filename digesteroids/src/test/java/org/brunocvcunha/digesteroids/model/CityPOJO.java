@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Test City POJO, without setters
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity(fieldAccess = true)
+public class CityPOJO {
+
+  @DigesterMapping(value = "cityName")
+  private String name;
+  
+  @DigesterMapping(value = "population")
+  private long population;
+
+  @DigesterMapping(value = "founded", format = "dd/MM/yyyy")
+  private LocalDate founded;
+
+  @DigesterMapping(value = "updated")
+  private Instant updated;
+  
+  /**
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+  /**
+   * @return the population
+   */
+  public long getPopulation() {
+    return population;
+  }
+  /**
+   * @return the founded date
+   */
+  public LocalDate getFounded() {
+    return founded;
+  }
+  /**
+   * @return the updated instant
+   */
+  public Instant getUpdated() {
+    return updated;
+  }
+  
+
+}
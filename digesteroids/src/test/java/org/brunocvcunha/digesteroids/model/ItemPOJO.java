@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.model;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Test Item POJO, an element of {@link CatalogPOJO}
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity(fieldAccess = true)
+public class ItemPOJO {
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "span.name")
+  @DigesterMapping(source = CatalogPOJO.SOURCE_DATA, value = "name")
+  String name;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "span.price")
+  @DigesterMapping(source = CatalogPOJO.SOURCE_DATA, value = "price")
+  Double price;
+
+  /**
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+  /**
+   * @return the price
+   */
+  public Double getPrice() {
+    return price;
+  }
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+import org.brunocvcunha.digesteroids.caster.DigisteroidsTest;
+import org.brunocvcunha.digesteroids.rule.DigesterRule;
+
+/**
+ * Test lazy interface
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity
+public interface PersonView {
+
+  /**
+   * @return the name
+   */
+  @DigesterMapping(source = DigisteroidsTest.SOURCE_EXAMPLE, value = "fullName", rule = CountingRule.class)
+  @DigesterMapping(source = DigisteroidsTest.SOURCE_HTML, refType = ReferenceTypeEnum.HTML_ID, value = "fname", rule = CountingRule.class)
+  String getName();
+
+  /**
+   * @return the age
+   */
+  @DigesterMapping(source = DigisteroidsTest.SOURCE_EXAMPLE, value = "age")
+  int getAge();
+
+  /**
+   * @return the address
+   */
+  @DigesterMapping(source = DigisteroidsTest.SOURCE_EXAMPLE, refType = ReferenceTypeEnum.PASS_THROUGH, value = "")
+  @DigesterMapping(source = DigisteroidsTest.SOURCE_HTML, refType = ReferenceTypeEnum.PASS_THROUGH, value = "")
+  AddressView getAddress();
+
+  /**
+   * @return the greeting, built from the mapped name
+   */
+  default String getGreeting() {
+    return "Hello, " + getName();
+  }
+
+  /**
+   * Test lazy address interface
+   */
+  @DigesterEntity
+  interface AddressView {
+
+    /**
+     * @return the city
+     */
+    @DigesterMapping(source = DigisteroidsTest.SOURCE_EXAMPLE, value = "addressCity")
+    @DigesterMapping(source = DigisteroidsTest.SOURCE_HTML, refType = ReferenceTypeEnum.HTML_XPATH, value = "//p/span")
+    String getCity();
+
+  }
+
+  /**
+   * Rule that counts how many values were resolved
+   */
+  class CountingRule implements DigesterRule<String> {
+
+    /**
+     * Number of values resolved
+     */
+    public static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String apply(String value) {
+      COUNT.incrementAndGet();
+      return value;
+    }
+
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 Bruno Candido Volpato da Cunha (brunocvcunha@gmail.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.brunocvcunha.digesteroids.model;
+
+import org.brunocvcunha.digesteroids.ReferenceTypeEnum;
+import org.brunocvcunha.digesteroids.annotation.DigesterEntity;
+import org.brunocvcunha.digesteroids.annotation.DigesterMapping;
+
+/**
+ * Test Product POJO, read from HTML pages
+ * 
+ * @author Bruno Candido Volpato da Cunha
+ *
+ */
+@DigesterEntity(fieldAccess = true)
+public class ProductPOJO {
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_ID, value = "product-name")
+  String name;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "div.product > span.price")
+  Double price;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "ul.tags li")
+  String firstTag;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "a[rel=details]", htmlText = false, attribute = "href")
+  String link;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HTML_CSS, value = "div.description", textNode = 1)
+  String note;
+
+  @DigesterMapping(refType = ReferenceTypeEnum.HARDCODE, value = "web")
+  String channel;
+
+  /**
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+  /**
+   * @return the price
+   */
+  public Double getPrice() {
+    return price;
+  }
+  /**
+   * @return the first tag
+   */
+  public String getFirstTag() {
+    return firstTag;
+  }
+  /**
+   * @return the link
+   */
+  public String getLink() {
+    return link;
+  }
+  /**
+   * @return the note
+   */
+  public String getNote() {
+    return note;
+  }
+  /**
+   * @return the channel
+   */
+  public String getChannel() {
+    return channel;
+  }
+
+}